@@ -129,6 +129,15 @@ public class BaseLocalizer {
     protected NumberFormat numberFormat;
     protected NumberFormat currencyFormat;
     protected NumberFormat accountingCurrencyFormat;
+    // Parser of plain numbers in the number format
+    private PlainNumberParser plainNumberParser;
+    // Whether the percent, currency and accounting formats can't parse plain numbers, and the formats that were checked
+    private NumberFormat plainCheckedPercentFormat;
+    private boolean percentRejectsPlainNumbers;
+    private NumberFormat plainCheckedCurrencyFormat;
+    private boolean currencyRejectsPlainNumbers;
+    private NumberFormat plainCheckedAccountingFormat;
+    private boolean accountingRejectsPlainNumbers;
     protected final LruCache<String, MessageFormat> messageFormatCache = new LruCache<>(10);
 
     public static final String ENGLISH_LANGUAGE = "en";
@@ -143,23 +152,11 @@ public class BaseLocalizer {
         return BaseLocalizer.LocaleFixerFunction;
     }
 
-    private static final ThreadLocal<SimpleDateFormat> ISO8601_FORMATTER = new ThreadLocal<>() {
-        @Override
-        public SimpleDateFormat initialValue() {
-            SimpleDateFormat fmt = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
-            fmt.setTimeZone(BaseLocalizer.GMT_TZ);
-            return fmt;
-        }
-    };
-
-    private static final ThreadLocal<SimpleDateFormat> ISO8601_MILLISECOND_FORMATTER = new ThreadLocal<>() {
-        @Override
-        public SimpleDateFormat initialValue() {
-            SimpleDateFormat fmt = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-            fmt.setTimeZone(BaseLocalizer.GMT_TZ);
-            return fmt;
-        }
-    };
+    private static SimpleDateFormat newISO8601Format(boolean withMillis) {
+        SimpleDateFormat fmt = new SimpleDateFormat(withMillis ? "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'" : "yyyy-MM-dd'T'HH:mm:ss'Z'");
+        fmt.setTimeZone(BaseLocalizer.GMT_TZ);
+        return fmt;
+    }
 
 
     /**
@@ -1634,7 +1631,8 @@ public class BaseLocalizer {
      * @return the data in ISO8601 format
      */
     public static String formatISO8601(Date date) {
-        return ISO8601_FORMATTER.get().format(date);
+        String result = FixedWidthDateFormat.format(date, 'T', false, true);
+        return result != null ? result : newISO8601Format(false).format(date);
     }
 
     /**
@@ -1644,7 +1642,8 @@ public class BaseLocalizer {
      * @return the data in ISO8601 format with milliseconds
      */
     public static String formatISO8601WithMilliSeconds(Date date) {
-        return ISO8601_MILLISECOND_FORMATTER.get().format(date);
+        String result = FixedWidthDateFormat.format(date, 'T', true, true);
+        return result != null ? result : newISO8601Format(true).format(date);
     }
 
 
@@ -1660,7 +1659,8 @@ public class BaseLocalizer {
      * @throws ParseException if the string cannot be parsed
      */
     public Number parseNumber(String s) throws ParseException {
-        return BaseLocalizer.doParseNumber(s, getNumberFormat());
+        Number plain = getPlainNumberParser().parse(s);
+        return plain != null ? plain : BaseLocalizer.doParseNumber(s, getNumberFormat());
     }
 
     /**
@@ -1671,8 +1671,21 @@ public class BaseLocalizer {
      * @throws ParseException if the string cannot be parsed
      */
     public Number parsePercent(String s) throws ParseException {
+        // A plain number doesn't have a percent sign, so it would fail with the percent format
+        PlainNumberParser parser = getPlainNumberParser();
+        Number plain = parser.parse(s);
+        NumberFormat percent = getPercentFormat();
+        if (plain != null) {
+            if (this.plainCheckedPercentFormat != percent) {
+                this.percentRejectsPlainNumbers = parser.rejectsPlainNumbers(percent);
+                this.plainCheckedPercentFormat = percent;
+            }
+            if (this.percentRejectsPlainNumbers) {
+                return plain;
+            }
+        }
         try {
-            Number val = BaseLocalizer.doParseNumber(s, getPercentFormat());
+            Number val = BaseLocalizer.doParseNumber(s, percent);
             return BigDecimal.valueOf(val.doubleValue()).multiply(BigDecimal.valueOf(100));
         }
         catch (ParseException x) {
@@ -1688,6 +1701,18 @@ public class BaseLocalizer {
      * @throws ParseException if the string cannot be parsed
      */
     public Number parseCurrency(String s) throws ParseException {
+        PlainNumberParser parser = getPlainNumberParser();
+        Number plain = parser.parse(s);
+        if (plain != null) {
+            NumberFormat currency = getCurrencyFormat();
+            if (this.plainCheckedCurrencyFormat != currency) {
+                this.currencyRejectsPlainNumbers = parser.rejectsPlainNumbers(currency);
+                this.plainCheckedCurrencyFormat = currency;
+            }
+            if (this.currencyRejectsPlainNumbers) {
+                return plain;
+            }
+        }
         try {
             return BaseLocalizer.doParseNumber(s, getCurrencyFormat());
         }
@@ -1704,6 +1729,18 @@ public class BaseLocalizer {
      * @throws ParseException if the string cannot be parsed
      */
     public Number parseAccountingCurrency(String s) throws ParseException {
+        PlainNumberParser parser = getPlainNumberParser();
+        Number plain = parser.parse(s);
+        if (plain != null) {
+            NumberFormat accounting = getAccountingCurrencyFormat();
+            if (this.plainCheckedAccountingFormat != accounting) {
+                this.accountingRejectsPlainNumbers = parser.rejectsPlainNumbers(accounting);
+                this.plainCheckedAccountingFormat = accounting;
+            }
+            if (this.accountingRejectsPlainNumbers) {
+                return plain;
+            }
+        }
         try {
             return BaseLocalizer.doParseNumber(s, getAccountingCurrencyFormat());
         }
@@ -1712,6 +1749,23 @@ public class BaseLocalizer {
         }
     }
 
+    /**
+     * @return the parser of plain numbers for the number format, which is recreated if the format is replaced or
+     * its negative prefix or affixes are changed
+     */
+    private PlainNumberParser getPlainNumberParser() {
+        NumberFormat nf = getNumberFormat();
+        PlainNumberParser parser = this.plainNumberParser;
+        if (parser == null || !parser.isFor(nf)) {
+            parser = PlainNumberParser.forFormat(nf);
+            this.plainNumberParser = parser;
+            this.plainCheckedPercentFormat = null;
+            this.plainCheckedCurrencyFormat = null;
+            this.plainCheckedAccountingFormat = null;
+        }
+        return parser;
+    }
+
     /**
      * Gets a NumberFormat, using the default settings for the Locale.
      * Caller must use doParseNumber() to handle trailing garbage in input string.
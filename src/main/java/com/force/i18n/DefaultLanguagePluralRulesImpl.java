@@ -33,9 +33,15 @@ import com.ibm.icu.text.PluralRules.PluralType;
  * @since 1.1
  */
 class DefaultLanguagePluralRulesImpl implements LanguagePluralRules {
+    // The integers from 0 to this value, exclusive, have their categories precomputed
+    static final int PRECOMPUTED_SIZE = 1001;
+
     private final HumanLanguage language;
     private final PluralRules cardinal;
     private final PluralRules ordinal;
+    // The category of each small integer, created on first use
+    private volatile PluralCategory[] cardinalCategories;
+    private volatile PluralCategory[] ordinalCategories;
 
     public DefaultLanguagePluralRulesImpl(HumanLanguage language) {
         this.language = language;
@@ -66,9 +72,49 @@ class DefaultLanguagePluralRulesImpl implements LanguagePluralRules {
         }
     }
 
+    private PluralCategory[] getPrecomputed(NumberType numberType) {
+        PluralCategory[] result = numberType == NumberType.ORDINAL ? this.ordinalCategories : this.cardinalCategories;
+        if (result == null) {
+            PluralRules rules = getPluralRules(numberType);
+            result = new PluralCategory[PRECOMPUTED_SIZE];
+            for (int i = 0; i < PRECOMPUTED_SIZE; i++) {
+                result[i] = fromString(rules.select(i));
+            }
+            if (numberType == NumberType.ORDINAL) {
+                this.ordinalCategories = result;
+            } else {
+                this.cardinalCategories = result;
+            }
+        }
+        return result;
+    }
+
     @Override
     public PluralCategory getPluralCategory(Number value, NumberType numberType) {
-        return fromString(getPluralRules(numberType).select(value != null ? value.doubleValue() : 0));
+        if (value == null) {
+            return getPluralCategory(0L, numberType);
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return getPluralCategory(value.longValue(), numberType);
+        }
+        return getPluralCategory(value.doubleValue(), numberType);
+    }
+
+    @Override
+    public PluralCategory getPluralCategory(long value, NumberType numberType) {
+        if (value >= 0 && value < PRECOMPUTED_SIZE) {
+            return getPrecomputed(numberType)[(int)value];
+        }
+        return fromString(getPluralRules(numberType).select(value));
+    }
+
+    @Override
+    public PluralCategory getPluralCategory(double value, NumberType numberType) {
+        // Whole numbers have the same category as the integer
+        if (value >= 0 && value < PRECOMPUTED_SIZE && value == (int)value) {
+            return getPrecomputed(numberType)[(int)value];
+        }
+        return fromString(getPluralRules(numberType).select(value));
     }
 
     @Override
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026, Salesforce, Inc.
+ * SPDX-License-Identifier: Apache-2
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.force.i18n;
+
+import java.text.DecimalFormatSymbols;
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+/**
+ * Formats and parses the fixed width GMT timestamps used for serialization, such as ISO 8601 and the Oracle
+ * NLS_DATE_FORMAT, by writing the digits directly instead of with a {@link SimpleDateFormat}.  This is thread safe and
+ * doesn't keep a format per thread.
+ * <p>
+ * The output is the same as a {@link SimpleDateFormat} in GMT for the default locale.  Where that isn't a plain
+ * Gregorian calendar with ASCII digits (such as th_TH, which uses the Buddhist calendar), or the date is before the
+ * Gregorian cutover or after 9999, these return null and the caller uses a SimpleDateFormat instead.
+ */
+final class FixedWidthDateFormat {
+    // The start of the Gregorian calendar in GregorianCalendar, 1582-10-15T00:00:00Z
+    private static final long GREGORIAN_START = -12219292800000L;
+    // 10000-01-01T00:00:00Z, after which the year has more than 4 digits
+    private static final long YEAR_10000 = 253402300800000L;
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    // Whether the last default locale that was checked uses the Gregorian calendar and ASCII digits
+    private static volatile LocaleCheck lastLocale;
+
+    private FixedWidthDateFormat() {
+        throw new AssertionError();
+    }
+
+    /**
+     * @param date the date to format
+     * @param dateTimeSeparator the character between the date and the time, such as 'T' or ' '
+     * @param withMillis whether to include the milliseconds
+     * @param zulu whether to end with 'Z'
+     * @return the date formatted as yyyy-MM-dd?HH:mm:ss[.SSS][Z] in GMT, or null if a SimpleDateFormat is needed
+     */
+    static String format(Date date, char dateTimeSeparator, boolean withMillis, boolean zulu) {
+        long millis = date.getTime();
+        if (millis < GREGORIAN_START || millis >= YEAR_10000 || !isPlainDefaultLocale()) {
+            return null;
+        }
+        long days = Math.floorDiv(millis, MILLIS_PER_DAY);
+        int millisOfDay = (int)(millis - days * MILLIS_PER_DAY);
+
+        // Civil date from the days since the epoch, from Howard Hinnant's algorithms
+        long z = days + 719468;
+        long era = Math.floorDiv(z, 146097);
+        int dayOfEra = (int)(z - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = (int)(yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+
+        char[] buf = new char[19 + (withMillis ? 4 : 0) + (zulu ? 1 : 0)];
+        write(buf, 0, year, 4);
+        buf[4] = '-';
+        write(buf, 5, month, 2);
+        buf[7] = '-';
+        write(buf, 8, day, 2);
+        buf[10] = dateTimeSeparator;
+        write(buf, 11, millisOfDay / 3600000, 2);
+        buf[13] = ':';
+        write(buf, 14, millisOfDay / 60000 % 60, 2);
+        buf[16] = ':';
+        write(buf, 17, millisOfDay / 1000 % 60, 2);
+        int pos = 19;
+        if (withMillis) {
+            buf[pos] = '.';
+            write(buf, pos + 1, millisOfDay % 1000, 3);
+            pos += 4;
+        }
+        if (zulu) {
+            buf[pos] = 'Z';
+        }
+        return new String(buf);
+    }
+
+    private static void write(char[] buf, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buf[i] = (char)('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Parse a timestamp of exactly the form yyyy-MM-dd HH:mm:ss with valid fields, optionally followed by text that
+     * doesn't start with a digit, such as the fraction in {@link java.sql.Timestamp#toString()}
+     * @param text the text to parse
+     * @return the date in GMT, or null if the text needs the leniency of a SimpleDateFormat
+     */
+    static Date parseNls(String text) {
+        if (text.length() < 19 || (text.length() > 19 && isDigit(text.charAt(19)))
+                || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != ' ' || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return null;
+        }
+        int year = read(text, 0, 4);
+        int month = read(text, 5, 2);
+        int day = read(text, 8, 2);
+        int hour = read(text, 11, 2);
+        int minute = read(text, 14, 2);
+        int second = read(text, 17, 2);
+        // Years before 1583 could be in the Julian calendar
+        if (year < 1583 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || !isPlainDefaultLocale()) {
+            return null;
+        }
+        // Days since the epoch from the civil date
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        long days = era * 146097L + dayOfEra - 719468;
+        return new Date(days * MILLIS_PER_DAY + hour * 3600000L + minute * 60000L + second * 1000L);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // The value of the ASCII digits, or -1 if any isn't one
+    private static int read(String text, int offset, int width) {
+        int result = 0;
+        for (int i = offset; i < offset + width; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+        case 2: return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+        case 4: case 6: case 9: case 11: return 30;
+        default: return 31;
+        }
+    }
+
+    /**
+     * @return whether a SimpleDateFormat for the default locale uses the Gregorian calendar and ASCII digits
+     */
+    static boolean isPlainDefaultLocale() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        LocaleCheck check = lastLocale;
+        if (check == null || check.locale != locale) {
+            boolean plain = "gregory".equals(Calendar.getInstance(BaseLocalizer.GMT_TZ, locale).getCalendarType())
+                    && DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0';
+            check = new LocaleCheck(locale, plain);
+            lastLocale = check;
+        }
+        return check.plain;
+    }
+
+    private static final class LocaleCheck {
+        private final Locale locale;
+        private final boolean plain;
+
+        LocaleCheck(Locale locale, boolean plain) {
+            this.locale = locale;
+            this.plain = plain;
+        }
+    }
+}
@@ -27,22 +27,21 @@ import java.util.Date;
  * @author stamm
  */
 public class I18nDateUtil {
-	// Dateformats aren't threadsafe.
-    private static final ThreadLocal<SimpleDateFormat> dateFormat = new ThreadLocal<SimpleDateFormat>() {
-        @Override
-        protected SimpleDateFormat initialValue() {
-            SimpleDateFormat result = new SimpleDateFormat(NLS_DATE_FORMAT);
-            result.setTimeZone(BaseLocalizer.GMT_TZ);  // GMT is the one format to rule them all...
-            return result;
-        }
-    };
+    // Dateformats aren't threadsafe, so the rare dates that need one get a new one
+    private static SimpleDateFormat newDateFormat() {
+        SimpleDateFormat result = new SimpleDateFormat(NLS_DATE_FORMAT);
+        result.setTimeZone(BaseLocalizer.GMT_TZ);  // GMT is the one format to rule them all...
+        return result;
+    }
 
     public static String formatTimestamp(Date ts) {
-        return dateFormat.get().format(ts);
+        String result = FixedWidthDateFormat.format(ts, ' ', false, false);
+        return result != null ? result : newDateFormat().format(ts);
     }
 
     public static Date parseTimestamp_NoStupidExceptionRemap(String ts) throws java.text.ParseException {
-        return dateFormat.get().parse(ts);
+        Date result = ts != null ? FixedWidthDateFormat.parseNls(ts) : null;
+        return result != null ? result : newDateFormat().parse(ts);
     }
 
     /** The Oracle NLS_DATE_FORMAT */
@@ -120,6 +120,18 @@ public class I18nJavaUtil {
     	return defaultProps.getString(key);
     }
 
+    /**
+     * @param key the java-style property that is being loaded
+     * @return the property as a number, or 0 if it's missing or isn't a number
+     */
+    public static final long getPropertyLong(String key) {
+    	try {
+    		return Long.parseLong(getProperty(key));
+    	} catch (RuntimeException ignore) {
+    		return 0;  // missing or not a number
+    	}
+    }
+
     static final ResourceBundle getDefaultProperties() {
     	return ResourceBundle.getBundle("com.force.i18n.grammaticus");
     }
@@ -216,8 +216,8 @@ public abstract class LabelDebugProvider implements LabelUsageTracking {
 
         // If true, it means that we're tracking the total set of labels
         private boolean isTracking = false;
-        // Yes unsynchronized, to prevent a big map we're going to do something a little fancier in the code itself
-        private final Set<LabelReference> usedLabels = Collections.newSetFromMap(new ConcurrentHashMap<LabelReference,Boolean>(256, .75f, 16));
+        // Section to keys, so that a read of a label that was already read doesn't allocate
+        private final ConcurrentHashMap<String, Set<String>> usedLabels = new ConcurrentHashMap<>(256, .75f, 16);
 
         // Keeps track of labels from this Thread (i.e. request)
         private static final ThreadLocal<List<LabelDebug>> LABEL_DEBUGS = new ThreadLocal<List<LabelDebug>>() {
@@ -297,7 +297,13 @@ public abstract class LabelDebugProvider implements LabelUsageTracking {
             if (!isTracking) {
                 return;
             }
-            usedLabels.add(new LabelRef(section, key));
+            Set<String> keys = usedLabels.get(section);
+            if (keys == null) {
+                keys = usedLabels.computeIfAbsent(section, s -> ConcurrentHashMap.newKeySet());
+            }
+            if (!keys.contains(key)) {
+                keys.add(key);
+            }
         }
 
         @Override
@@ -305,8 +311,8 @@ public abstract class LabelDebugProvider implements LabelUsageTracking {
             if (isTracking) {
                 // Make a nice sorted copy
                 TreeMultimap<String,String> result = TreeMultimap.create();
-                for (LabelReference lr : usedLabels) {
-                    result.put(lr.getSection(), lr.getKey());
+                for (Map.Entry<String, Set<String>> section : usedLabels.entrySet()) {
+                    result.putAll(section.getKey(), section.getValue());
                 }
                 return Multimaps.unmodifiableSetMultimap(result);
             } else {
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026, Salesforce, Inc.
+ * SPDX-License-Identifier: Apache-2
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.force.i18n;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.*;
+
+/**
+ * A {@link LabelUsageTracking} cheap enough to leave on in production, to find the labels that are read the most
+ * and the labels that are never read.
+ * <p>
+ * Each label has a {@link LongAdder}, found through a map of sections to maps of keys, so a read of a label that
+ * was read before doesn't allocate or contend with reads on other threads.  To cut the cost further, only one of
+ * every {@code sampleEvery} reads can be counted, in which case the counts are estimates; a label that's rarely
+ * read may then be missing from {@link #getUsedLabels()}.
+ * <pre>
+ * LabelUsageCounter counter = new LabelUsageCounter(16);
+ * LabelUsage.set(counter);
+ * ...
+ * for (LabelUsageCounter.LabelCount label : counter.getHotLabels(100)) { ... }
+ * </pre>
+ */
+public class LabelUsageCounter implements LabelUsageTracking {
+    private static final Function<String, Map<String, LongAdder>> NEW_SECTION = s -> new ConcurrentHashMap<>();
+    private static final Function<String, LongAdder> NEW_COUNTER = k -> new LongAdder();
+
+    private final ConcurrentHashMap<String, Map<String, LongAdder>> counts = new ConcurrentHashMap<>(256);
+    private final int sampleEvery;
+
+    /**
+     * Count every read
+     */
+    public LabelUsageCounter() {
+        this(1);
+    }
+
+    /**
+     * @param sampleEvery count one of every this many reads, at random, as this many reads
+     */
+    public LabelUsageCounter(int sampleEvery) {
+        Preconditions.checkArgument(sampleEvery > 0, "sampleEvery must be positive");
+        this.sampleEvery = sampleEvery;
+    }
+
+    @Override
+    public void trackLabel(String section, String key) {
+        if (section == null || key == null) {
+            return;
+        }
+        if (this.sampleEvery > 1 && ThreadLocalRandom.current().nextInt(this.sampleEvery) != 0) {
+            return;
+        }
+        // get first, as computeIfAbsent locks the bin even when the value is there
+        Map<String, LongAdder> keys = this.counts.get(section);
+        if (keys == null) {
+            keys = this.counts.computeIfAbsent(section, NEW_SECTION);
+        }
+        LongAdder counter = keys.get(key);
+        if (counter == null) {
+            counter = keys.computeIfAbsent(key, NEW_COUNTER);
+        }
+        counter.add(this.sampleEvery);
+    }
+
+    @Override
+    public boolean isTrackingLabelUsage() {
+        return true;
+    }
+
+    /**
+     * @return how many reads are represented by each counted read
+     */
+    public int getSampleEvery() {
+        return this.sampleEvery;
+    }
+
+    @Override
+    public SetMultimap<String, String> getUsedLabels() {
+        TreeMultimap<String, String> result = TreeMultimap.create();
+        for (Map.Entry<String, Map<String, LongAdder>> section : this.counts.entrySet()) {
+            result.putAll(section.getKey(), section.getValue().keySet());
+        }
+        return Multimaps.unmodifiableSetMultimap(result);
+    }
+
+    /**
+     * @param section the section of the label
+     * @param key the key of the label
+     * @return the (estimated) number of reads of the label
+     */
+    public long getCount(String section, String key) {
+        Map<String, LongAdder> keys = this.counts.get(section);
+        LongAdder counter = keys == null ? null : keys.get(key);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * @param max the maximum number of labels to return
+     * @return the labels read the most, most first, with their (estimated) number of reads
+     */
+    public List<LabelCount> getHotLabels(int max) {
+        List<LabelCount> result = new ArrayList<>();
+        for (Map.Entry<String, Map<String, LongAdder>> section : this.counts.entrySet()) {
+            for (Map.Entry<String, LongAdder> key : section.getValue().entrySet()) {
+                result.add(new LabelCount(section.getKey(), key.getKey(), key.getValue().sum()));
+            }
+        }
+        return Ordering.natural().leastOf(result, max);
+    }
+
+    /**
+     * Forget every read so far
+     */
+    public void reset() {
+        this.counts.clear();
+    }
+
+    /**
+     * A label and the (estimated) number of times it was read, ordered by most reads first
+     */
+    public static final class LabelCount implements LabelReference, Comparable<LabelCount> {
+        private final String section;
+        private final String key;
+        private final long count;
+
+        LabelCount(String section, String key, long count) {
+            this.section = section;
+            this.key = key;
+            this.count = count;
+        }
+
+        @Override
+        public String getSection() {
+            return this.section;
+        }
+
+        @Override
+        public String getKey() {
+            return this.key;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return null;
+        }
+
+        public long getCount() {
+            return this.count;
+        }
+
+        @Override
+        public int compareTo(LabelCount o) {
+            int result = Long.compare(o.count, this.count);
+            if (result == 0) result = this.section.compareTo(o.section);
+            return result != 0 ? result : this.key.compareTo(o.key);
+        }
+
+        @Override
+        public String toString() {
+            return this.section + "." + this.key + "=" + this.count;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 
 package com.force.i18n;
 
+import com.force.i18n.settings.LabelHandle;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.SetMultimap;
 
@@ -45,6 +46,15 @@ public interface LabelUsageTracking {
      */
     void trackLabel(String section, String key);
 
+    /**
+     * Record that a label was read through a handle, so that the section and key don't have to be looked up again.
+     *
+     * @param handle the handle of the label
+     */
+    default void trackLabel(LabelHandle handle) {
+        trackLabel(handle.getSection(), handle.getKey());
+    }
+
     /**
      * @return whether this tracker is currently recording usage
      */
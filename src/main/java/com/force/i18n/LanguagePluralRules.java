@@ -48,6 +48,44 @@ public interface LanguagePluralRules {
 	 */
 	PluralCategory getPluralCategory(Number value, NumberType numberType);
 
+	/**
+	 * @param value the integer to check
+	 * @return the PluralCategory to use for the given integer as a cardinal number
+	 */
+	default PluralCategory getPluralCategory(long value) {
+		return getPluralCategory(value, NumberType.CARDINAL);
+	}
+
+	/**
+	 * Get the plural category of an integer without boxing it.  Implementations should override this
+	 * if they can avoid the conversion to a {@link Number}.
+	 * @param value  the integer to test
+	 * @param numberType Cardinal or Ordinal number
+	 * @return the plural category for the integer
+	 */
+	default PluralCategory getPluralCategory(long value, NumberType numberType) {
+		return getPluralCategory(Long.valueOf(value), numberType);
+	}
+
+	/**
+	 * @param value the number to check
+	 * @return the PluralCategory to use for the given number as a cardinal number
+	 */
+	default PluralCategory getPluralCategory(double value) {
+		return getPluralCategory(value, NumberType.CARDINAL);
+	}
+
+	/**
+	 * Get the plural category of a number without boxing it.  Implementations should override this
+	 * if they can avoid the conversion to a {@link Number}.
+	 * @param value  the number to test
+	 * @param numberType Cardinal or Ordinal number
+	 * @return the plural category for the number
+	 */
+	default PluralCategory getPluralCategory(double value, NumberType numberType) {
+		return getPluralCategory(Double.valueOf(value), numberType);
+	}
+
 	/**
 	 * @return the set of categories for cardinal numbers
 	 */
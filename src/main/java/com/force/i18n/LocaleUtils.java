@@ -17,12 +17,15 @@
 
 package com.force.i18n;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Locale.LanguageRange;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Lists;
 
@@ -38,6 +41,11 @@ public enum LocaleUtils {
     // TODO: The number of locales in the system is rather small, but we should probably use a ConcurrentLruMap just in case.
     private static final ConcurrentMap<String,Locale> uniqueLocaleMap = new ConcurrentHashMap<String,Locale>(64, .75f, 2);
 
+    // Accept-Language headers repeat heavily, so remember the language negotiated for each.  Longer headers aren't kept.
+    private static final int NEGOTIATED_HEADER_MAX_LENGTH = 256;
+    private static final Cache<String, NegotiatedLanguage> negotiatedLanguages =
+            Caffeine.newBuilder().maximumSize(I18nJavaUtil.getPropertyLong("localeUtils.acceptLanguage.maxSize")).build();
+
     /**
      * @return a locale for language-only ("en") or language/country ("en_UK")
      * iso codes
@@ -101,4 +109,147 @@ public enum LocaleUtils {
         }
         return null;
     }
+
+    /**
+     * Choose the supported language that best matches an "Accept-Language" header, as defined in
+     * <a href="https://www.rfc-editor.org/rfc/rfc9110.html#name-accept-language">RFC 9110</a>.
+     * <p>
+     * The ranges are tried in order of their q-value.  Each is matched against {@link LanguageProvider#getAll()} of
+     * {@link LanguageProviderFactory#get()}: first exactly, then with {@link LanguageProvider#getLanguageForLocale(Locale)}
+     * so "en-AU" matches English if there's no Australian English, and then with any language of the same primary
+     * language, preferring the one the others fall back to, so "pt" matches Brazilian Portuguese if that's the only
+     * Portuguese.  "xx" never matches the base language.  A wildcard range matches the base language, or the first
+     * other language that isn't refused.
+     * <p>
+     * Ranges with q=0 refuse the languages they match, including regional variants, so "de;q=0, *" never picks
+     * German.  A language matched exactly by a range with a higher q-value is still used, so "de;q=0, de-AT" picks
+     * Austrian German.  The result for each header is kept in a bounded cache.
+     *
+     * @param acceptLanguage the value of the Accept-Language header
+     * @return the language to use, or {@code null} if no range matches a supported language or the header is invalid
+     * @see #getLocaleFromHttpInput(String)
+     */
+    public HumanLanguage negotiateLanguage(String acceptLanguage) {
+        if (acceptLanguage == null || acceptLanguage.isEmpty()) return null;
+
+        LanguageProvider provider = LanguageProviderFactory.get().getProvider();
+        if (acceptLanguage.length() > NEGOTIATED_HEADER_MAX_LENGTH) {
+            return negotiateLanguage(provider, acceptLanguage);
+        }
+        NegotiatedLanguage result = negotiatedLanguages.getIfPresent(acceptLanguage);
+        if (result == null || result.provider != provider) {
+            // The provider may be replaced, such as in tests
+            result = new NegotiatedLanguage(provider, negotiateLanguage(provider, acceptLanguage));
+            negotiatedLanguages.put(acceptLanguage, result);
+        }
+        return result.language;
+    }
+
+    /**
+     * @param acceptLanguage the value of the Accept-Language header
+     * @param ifNone the language to use if none matches
+     * @return the language to use
+     * @see #negotiateLanguage(String)
+     */
+    public HumanLanguage negotiateLanguage(String acceptLanguage, HumanLanguage ifNone) {
+        HumanLanguage result = negotiateLanguage(acceptLanguage);
+        return result != null ? result : ifNone;
+    }
+
+    private static HumanLanguage negotiateLanguage(LanguageProvider provider, String acceptLanguage) {
+        final List<LanguageRange> ranges;
+        try {
+            // Sorted by weight, highest first
+            ranges = LanguageRange.parse(acceptLanguage);
+        } catch (IllegalArgumentException ignore) {
+            return null;
+        }
+        List<String> refused = null;
+        for (LanguageRange range : ranges) {
+            if (range.getWeight() <= 0 && !"*".equals(range.getRange())) {
+                if (refused == null) refused = new ArrayList<>(2);
+                refused.add(range.getRange());
+            }
+        }
+        for (LanguageRange range : ranges) {
+            if (range.getWeight() <= 0) continue;
+            if ("*".equals(range.getRange())) {
+                if (!isRefused(provider.getBaseLanguage(), refused)) return provider.getBaseLanguage();
+                for (HumanLanguage language : provider.getAll()) {
+                    if (!language.isTestOnlyLanguage() && !isRefused(language, refused)) return language;
+                }
+                continue;
+            }
+
+            Locale locale = Locale.forLanguageTag(range.getRange());
+            if (locale.getLanguage().isEmpty()) continue;
+            if (locale.getCountry().isEmpty() && !locale.getScript().isEmpty()) {
+                // Java locales for Chinese use the region instead of the script
+                if ("Hant".equals(locale.getScript())) {
+                    locale = new Locale.Builder().setLanguage(locale.getLanguage()).setRegion("TW").build();
+                } else if ("Hans".equals(locale.getScript())) {
+                    locale = new Locale.Builder().setLanguage(locale.getLanguage()).setRegion("CN").build();
+                }
+            }
+            HumanLanguage result = provider.getLanguage(locale);
+            if (result != null) return result;  // asked for explicitly
+
+            result = provider.getLanguageForLocale(locale);
+            // The fuzzy match defaults to the base language, and shouldn't pick a test language
+            if (result != null && (!result.getLocale().getLanguage().equals(locale.getLanguage()) || result.isTestOnlyLanguage()
+                    || isRefused(result, refused))) {
+                result = null;
+            }
+            if (result == null) {
+                result = getLanguageOfSamePrimaryLanguage(provider, locale.getLanguage(), refused);
+            }
+            if (result != null) return result;
+        }
+        return null;
+    }
+
+    /**
+     * @return the supported language with the primary language that isn't refused, preferring the one that other
+     * languages of it fall back to, or {@code null} if there isn't one
+     */
+    private static HumanLanguage getLanguageOfSamePrimaryLanguage(LanguageProvider provider, String primaryLanguage, List<String> refused) {
+        HumanLanguage result = null;
+        for (HumanLanguage language : provider.getAll()) {
+            if (language.isTestOnlyLanguage() || !primaryLanguage.equals(language.getLocale().getLanguage())
+                    || isRefused(language, refused)) {
+                continue;
+            }
+            HumanLanguage fallback = language.getFallbackLanguage();
+            if (fallback == null || !primaryLanguage.equals(fallback.getLocale().getLanguage())) {
+                return language;
+            }
+            if (result == null) result = language;
+        }
+        return result;
+    }
+
+    /**
+     * @return whether a range with q=0 matches the language, or a language it's a variant of
+     */
+    private static boolean isRefused(HumanLanguage language, List<String> refused) {
+        if (refused == null) return false;
+        String tag = language.getLocale().toLanguageTag();
+        for (String range : refused) {
+            if (tag.equalsIgnoreCase(range) || (tag.length() > range.length() && tag.charAt(range.length()) == '-'
+                    && tag.regionMatches(true, 0, range, 0, range.length()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class NegotiatedLanguage {
+        private final LanguageProvider provider;
+        private final HumanLanguage language;
+
+        NegotiatedLanguage(LanguageProvider provider, HumanLanguage language) {
+            this.provider = provider;
+            this.language = language;
+        }
+    }
 }
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026, Salesforce, Inc.
+ * SPDX-License-Identifier: Apache-2
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.force.i18n;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+
+/**
+ * Parses numbers of the most common shape, an optional minus sign followed by ASCII digits with the locale's
+ * grouping separators between them and an optional decimal separator and fraction, for a JDK
+ * {@link DecimalFormat} without affixes.  The result is the same {@link Long} or {@link Double} that
+ * {@link DecimalFormat#parse(String, java.text.ParsePosition)} returns, without the overhead of the digit list and
+ * parse position.  Anything else returns null, and should be parsed with the format itself.
+ * <p>
+ * This is immutable, but is only valid for the format it was created for, as long as that isn't changed.  The
+ * separators are read once, as {@link DecimalFormat#getDecimalFormatSymbols()} returns a copy, so a format whose
+ * symbols change must be replaced by another instance rather than changed in place.
+ */
+final class PlainNumberParser {
+    // The digits of Long.MIN_VALUE, like DigitList.fitsIntoLong
+    private static final String LONG_MIN_DIGITS = "9223372036854775808";
+
+    private final NumberFormat format;
+    private final boolean supported;
+    private final char minus;
+    private final char grouping;  // 0 if grouping isn't used
+    private final char decimal;
+    // The state of the DecimalFormat the parser depends on, to tell if it was changed; null prefix for other formats
+    private final String negativePrefix;
+    private final boolean plain;
+    private final boolean groupingUsed;
+
+    private PlainNumberParser(NumberFormat format, String negativePrefix, boolean plain, boolean groupingUsed,
+            char groupingSeparator, char decimal) {
+        this.format = format;
+        this.negativePrefix = negativePrefix;
+        this.plain = plain;
+        this.groupingUsed = groupingUsed;
+        char grouping = groupingUsed ? groupingSeparator : 0;
+        this.supported = negativePrefix != null && negativePrefix.length() == 1 && plain
+                && !isDigitOrZero(negativePrefix.charAt(0)) && !Character.isDigit(grouping) && !isDigitOrZero(decimal)
+                && grouping != decimal && negativePrefix.charAt(0) != grouping && negativePrefix.charAt(0) != decimal;
+        this.minus = this.supported ? negativePrefix.charAt(0) : 0;
+        this.grouping = this.supported ? grouping : 0;
+        this.decimal = this.supported ? decimal : 0;
+    }
+
+    /**
+     * @param nf the format that would otherwise be used to parse
+     * @return the parser for plain numbers in the format, which parses nothing if the format isn't supported
+     */
+    static PlainNumberParser forFormat(NumberFormat nf) {
+        // Subclasses and other implementations, such as the ICU wrappers, may parse differently
+        if (nf == null || nf.getClass() != DecimalFormat.class) {
+            return new PlainNumberParser(nf, null, false, false, (char)0, (char)0);
+        }
+        DecimalFormat df = (DecimalFormat)nf;
+        DecimalFormatSymbols symbols = df.getDecimalFormatSymbols();
+        return new PlainNumberParser(nf, df.getNegativePrefix(), isPlain(df), df.isGroupingUsed(),
+                symbols.getGroupingSeparator(), symbols.getDecimalSeparator());
+    }
+
+    private static boolean isPlain(DecimalFormat df) {
+        return df.getMultiplier() == 1 && !df.isParseBigDecimal() && !df.isParseIntegerOnly()
+                && df.getPositivePrefix().isEmpty() && df.getPositiveSuffix().isEmpty() && df.getNegativeSuffix().isEmpty();
+    }
+
+    private static boolean isDigitOrZero(char c) {
+        return c == 0 || Character.isDigit(c);
+    }
+
+    /**
+     * @param nf the format of the localizer
+     * @return whether this parser was created for the format and the format's negative prefix and affixes haven't
+     * been changed since; the separators aren't compared, as reading them copies the symbols
+     */
+    boolean isFor(NumberFormat nf) {
+        if (this.format != nf) {
+            return false;
+        }
+        if (this.negativePrefix == null) {
+            return true;  // not a DecimalFormat, so never supported
+        }
+        DecimalFormat df = (DecimalFormat)nf;
+        return isPlain(df) == this.plain && df.isGroupingUsed() == this.groupingUsed
+                && df.getNegativePrefix().equals(this.negativePrefix);
+    }
+
+    /**
+     * @param input the string to parse
+     * @return the number the format would parse, or null if the input isn't a plain number or the format isn't supported
+     */
+    Number parse(String input) {
+        if (!this.supported || input == null) {
+            return null;
+        }
+        int length = input.length();
+        int pos = 0;
+        boolean negative = length > 0 && input.charAt(0) == this.minus;
+        if (negative) {
+            pos++;
+        }
+
+        // The integer digits, without leading zeros, and whether a digit was seen
+        StringBuilder significant = null;
+        int intDigits = 0;
+        boolean sawDigit = false;
+        boolean lastWasDigit = false;
+        long value = 0;
+        for (; pos < length; pos++) {
+            char c = input.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                sawDigit = lastWasDigit = true;
+                if (intDigits > 0 || c != '0') {
+                    intDigits++;
+                    if (intDigits < 19) {
+                        value = value * 10 + (c - '0');
+                    } else {
+                        if (significant == null) {
+                            significant = new StringBuilder(length).append(value);
+                        }
+                        significant.append(c);
+                    }
+                }
+            } else if (c == this.grouping && c != 0 && lastWasDigit && pos + 1 < length
+                    && input.charAt(pos + 1) >= '0' && input.charAt(pos + 1) <= '9') {
+                lastWasDigit = false;
+            } else {
+                break;
+            }
+        }
+        if (!sawDigit) {
+            return null;
+        }
+
+        // The fraction, without trailing zeros
+        int fractionStart = -1;
+        int fractionEnd = -1;
+        if (pos < length) {
+            if (input.charAt(pos) != this.decimal || pos + 1 == length) {
+                return null;
+            }
+            fractionStart = ++pos;
+            for (; pos < length; pos++) {
+                char c = input.charAt(pos);
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+                if (c != '0') {
+                    fractionEnd = pos + 1;
+                }
+            }
+        }
+
+        if (fractionEnd > 0) {
+            if (significant == null) {
+                significant = new StringBuilder(length).append(intDigits > 0 ? Long.toString(value) : "");
+            }
+            significant.append('.').append(input, fractionStart, fractionEnd);
+            double result = Double.parseDouble(significant.toString());
+            return negative ? -result : result;
+        }
+        if (intDigits == 0) {
+            // DecimalFormat returns -0.0 for a negative zero
+            return negative ? (Number)Double.valueOf(-0.0) : (Number)Long.valueOf(0);
+        }
+        if (significant == null) {
+            return negative ? -value : value;
+        }
+        // Like DigitList.fitsIntoLong
+        int compare = intDigits > 19 ? 1 : significant.toString().compareTo(LONG_MIN_DIGITS);
+        if (compare < 0) {
+            long result = Long.parseLong(significant.toString());
+            return negative ? -result : result;
+        }
+        if (compare == 0 && negative) {
+            return Long.MIN_VALUE;
+        }
+        double result = Double.parseDouble(significant.toString());
+        return negative ? -result : result;
+    }
+
+    /**
+     * @param other another format
+     * @return true if the other format can't parse any input that this parses, because both its positive and its
+     * negative affixes have a character that a plain number can't have, such as a percent or currency sign
+     */
+    boolean rejectsPlainNumbers(NumberFormat other) {
+        if (!this.supported || other == null || other.getClass() != DecimalFormat.class) {
+            return false;
+        }
+        DecimalFormat df = (DecimalFormat)other;
+        return hasNonPlainChar(df.getPositivePrefix() + df.getPositiveSuffix())
+                && hasNonPlainChar(df.getNegativePrefix() + df.getNegativeSuffix());
+    }
+
+    private boolean hasNonPlainChar(String affix) {
+        for (int i = 0; i < affix.length(); i++) {
+            char c = affix.charAt(i);
+            if (!Character.isDigit(c) && c != this.minus && c != this.grouping && c != this.decimal) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026, Salesforce, Inc.
+ * SPDX-License-Identifier: Apache-2
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.force.i18n.commons.text;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import com.google.common.annotations.Beta;
+import com.ibm.icu.text.Collator;
+import com.ibm.icu.text.RawCollationKey;
+import com.ibm.icu.util.ULocale;
+
+/**
+ * Locale aware sorting with ICU collators that are shared by the whole process.
+ * <p>
+ * Unlike {@link java.text.Collator}, a frozen ICU collator is immutable and thread safe, so one instance per locale
+ * is kept and shared, instead of creating one for each request.  Large lists are sorted by computing the raw
+ * collation key of each element once, in parallel, and then sorting the keys with {@link Arrays#parallelSort(Object[])},
+ * so that the collation rules are applied once per element instead of once per comparison.
+ *
+ * Beta class. Classes under com.force.i18n.commons package will be moved into a dedicated project.
+ */
+@Beta
+public final class CollationUtil {
+    // Lists smaller than this are sorted on the calling thread
+    static final int PARALLEL_THRESHOLD = 8192;
+
+    private static final ConcurrentMap<Locale, Collator> COLLATORS = new ConcurrentHashMap<>();
+
+    private CollationUtil() {
+        throw new AssertionError();
+    }
+
+    /**
+     * @param locale the locale of the collation
+     * @return the shared, frozen collator for the locale, which is thread safe and can't be changed
+     */
+    public static Collator getCollator(Locale locale) {
+        Collator result = COLLATORS.get(locale);
+        if (result == null) {
+            result = COLLATORS.computeIfAbsent(locale, l -> Collator.getInstance(ULocale.forLocale(l)).freeze());
+        }
+        return result;
+    }
+
+    /**
+     * @param locale the locale of the collation
+     * @return a thread safe comparator of strings for the locale, with nulls first
+     */
+    public static Comparator<String> getComparator(Locale locale) {
+        Collator collator = getCollator(locale);
+        return Comparator.nullsFirst(collator::compare);
+    }
+
+    /**
+     * Sort the strings in place in the collation order of the locale, with nulls first
+     * @param list the strings to sort
+     * @param locale the locale of the collation
+     */
+    public static void sort(List<String> list, Locale locale) {
+        sort(list, Function.identity(), getCollator(locale));
+    }
+
+    /**
+     * Sort the list in place by the collation order of the string value of each element, with null values first.
+     * The sort is stable.
+     * @param <T> the type of the elements
+     * @param list the list to sort
+     * @param toString the function that returns the string to sort each element by
+     * @param collator the collator to use, which must be frozen if the list is large enough to sort in parallel
+     */
+    public static <T> void sort(List<T> list, Function<? super T, String> toString, Collator collator) {
+        int size = list.size();
+        if (size < 2) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        T[] elements = (T[])list.toArray();
+        boolean parallel = size >= PARALLEL_THRESHOLD && collator.isFrozen();
+        CollatedElement[] collated = new CollatedElement[size];
+        IntStream indexes = IntStream.range(0, size);
+        (parallel ? indexes.parallel() : indexes).forEach(i -> {
+            String value = toString.apply(elements[i]);
+            collated[i] = new CollatedElement(value != null ? collator.getRawCollationKey(value, null) : null, i);
+        });
+        if (parallel) {
+            Arrays.parallelSort(collated);
+        } else {
+            Arrays.sort(collated);
+        }
+
+        ListIterator<T> it = list.listIterator();
+        for (CollatedElement element : collated) {
+            it.next();
+            it.set(elements[element.index]);
+        }
+    }
+
+    /**
+     * The raw key of an element, with its original index to keep the sort stable
+     */
+    private static final class CollatedElement implements Comparable<CollatedElement> {
+        private final RawCollationKey key;
+        private final int index;
+
+        CollatedElement(RawCollationKey key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+
+        @Override
+        public int compareTo(CollatedElement other) {
+            int result;
+            if (this.key == null) {
+                result = other.key == null ? 0 : -1;
+            } else {
+                result = other.key == null ? 1 : this.key.compareTo(other.key);
+            }
+            return result != 0 ? result : Integer.compare(this.index, other.index);
+        }
+    }
+}
@@ -17,6 +17,10 @@
 
 package com.force.i18n.commons.util.settings;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Interner;
 import com.google.common.collect.Interners;
 
@@ -24,6 +28,13 @@ import com.google.common.collect.Interners;
 /**
  * Responsible for providing String deduping services to the lib module. If a different String interning solution needs
  * to be used, only this class needs to change instead of all the callees of the services.
+ * <p>
+ * Parsing calls {@link #intern(String)} for nearly every value, so a load can open an {@link InternArena} for its
+ * thread.  Strings are then deduped in a table only used by that thread, which only goes to the global weak interner
+ * the first time the load sees each string, so loads running in parallel contend much less on the interner.  When
+ * the arena is closed, its strings are published to a shared, immutable pool of up to {@link #setPoolMaxSize(int)}
+ * strings, which is looked at first without any locking.  With {@link #setUseWeakInterner(boolean)} off, the weak
+ * interner isn't used at all, and strings are only deduped by the arena and the pool.
  *
  * @author btoal
  */
@@ -31,6 +42,15 @@ public class IniFileUtil {
 
 	private static final Interner<String> INTERNER = Interners.newBuilder().weak().concurrencyLevel(16).build();
 
+    private static final ThreadLocal<InternArena> ARENA = new ThreadLocal<>();
+
+    // Strings published by closed arenas.  Replaced, never modified, under POOL_LOCK when an arena is closed.
+    private static volatile Map<String, String> pool = ImmutableMap.of();
+    private static final Object POOL_LOCK = new Object();
+    private static volatile int poolMaxSize = 65536;
+
+    private static volatile boolean useWeakInterner = true;
+
     /**
      * For the given {@link String}, return reference to equal String.  Useful for {@link String} deduping.
      * @param str the string to intern
@@ -41,7 +61,15 @@ public class IniFileUtil {
             return null;
         }
 
-        return INTERNER.intern(str);
+        String pooled = pool.get(str);
+        if (pooled != null) {
+            return pooled;
+        }
+        InternArena arena = ARENA.get();
+        if (arena != null) {
+            return arena.intern(str);
+        }
+        return useWeakInterner ? INTERNER.intern(str) : str;
     }
 
     /**
@@ -60,4 +88,110 @@ public class IniFileUtil {
 
         return o;
     }
-}
\ No newline at end of file
+
+    /**
+     * Start deduping the strings interned by this thread in a table of its own, until the arena is closed.  If the
+     * thread already has an open arena, such as when loading a fallback language inside a load, it is reused and
+     * only dropped when the outermost caller closes it.
+     * @return the arena for the current thread, to be closed by the caller
+     */
+    public static InternArena openArena() {
+        InternArena arena = ARENA.get();
+        if (arena == null) {
+            arena = new InternArena();
+            ARENA.set(arena);
+        }
+        arena.depth++;
+        return arena;
+    }
+
+    /**
+     * @param newValue whether strings that aren't in the pool go through the global weak interner.  If {@code false},
+     * they're only deduped within an arena, and returned as is outside of one.  Defaults to {@code true}.
+     */
+    public static void setUseWeakInterner(boolean newValue) {
+        useWeakInterner = newValue;
+    }
+
+    /**
+     * @param newValue the maximum number of strings in the pool that arenas publish to.  Once full, the strings of
+     * later arenas aren't added.  No pool for 0.  Defaults to 65536.
+     */
+    public static void setPoolMaxSize(int newValue) {
+        poolMaxSize = newValue;
+    }
+
+    /**
+     * @return the number of strings in the pool that arenas publish to
+     */
+    public static int getPoolSize() {
+        return pool.size();
+    }
+
+    /**
+     * Empty the pool that arenas publish to, such as after reloading every label set.
+     */
+    public static void clearPool() {
+        synchronized (POOL_LOCK) {
+            pool = ImmutableMap.of();
+        }
+    }
+
+    private static void publish(Map<String, String> strings) {
+        synchronized (POOL_LOCK) {
+            Map<String, String> current = pool;
+            int room = poolMaxSize - current.size();
+            if (room <= 0) {
+                return;
+            }
+            ImmutableMap.Builder<String, String> builder = ImmutableMap.builderWithExpectedSize(current.size() + Math.min(room, strings.size()));
+            builder.putAll(current);
+            for (String str : strings.keySet()) {
+                if (room == 0) {
+                    break;
+                }
+                if (!current.containsKey(str)) {
+                    builder.put(str, str);
+                    room--;
+                }
+            }
+            pool = builder.build();
+        }
+    }
+
+    /**
+     * A table of strings interned by one thread during a load.  Not thread safe.
+     * @see IniFileUtil#openArena()
+     */
+    public static final class InternArena implements AutoCloseable {
+        private final Map<String, String> strings = new HashMap<>(1024);
+        private int depth;
+
+        private InternArena() {
+        }
+
+        String intern(String str) {
+            String result = this.strings.get(str);
+            if (result == null) {
+                result = useWeakInterner ? INTERNER.intern(str) : str;
+                this.strings.put(result, result);
+            }
+            return result;
+        }
+
+        /**
+         * Publish the strings to the pool and drop the table, if this is the outermost user of the arena
+         */
+        @Override
+        public void close() {
+            if (--this.depth > 0) {
+                return;
+            }
+            ARENA.remove();
+            if (poolMaxSize > 0) {
+                publish(this.strings);
+            }
+            this.strings.clear();
+        }
+    }
+}
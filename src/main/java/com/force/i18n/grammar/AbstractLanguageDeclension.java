@@ -39,8 +39,24 @@ import com.force.i18n.grammar.offline.PluralRulesJsImpl;
  * @author stamm
  */
 public abstract class AbstractLanguageDeclension implements LanguageDeclension {
+    private static final int NUMBER_COUNT = LanguageNumber.values().length;
+    private static final int CASE_COUNT = LanguageCase.values().length;
+    private static final int POSSESSIVE_COUNT = LanguagePossessive.values().length;
+    private static final int ARTICLE_COUNT = LanguageArticle.values().length;
+    private static final int GENDER_COUNT = LanguageGender.values().length;
+    private static final int STARTS_WITH_COUNT = LanguageStartsWith.values().length;
+
     private final HumanLanguage language;
 
+    // Dense lookup tables for the getApproximate*Form methods.  The result of those fallback cascades depends only
+    // on the ordinals of the requested values and on the has*() answers of this declension, which never change, so
+    // each slot is resolved once and every later lookup is a single array load.  The tables are allocated on first
+    // use (most declensions never resolve articles, and the subclass isn't initialized yet in this constructor);
+    // racing writers store the same value, so no locking is needed.
+    private volatile NounForm[] approximateNounForms;
+    private volatile AdjectiveForm[][] approximateAdjectiveForms;  // [startsWith][gender][number] -> [case][article][possessive]
+    private volatile ArticleForm[] approximateArticleForms;
+
     protected AbstractLanguageDeclension(HumanLanguage language) {
         this.language = language;
     }
@@ -249,6 +265,28 @@ public abstract class AbstractLanguageDeclension implements LanguageDeclension {
 
     @Override
     public NounForm getApproximateNounForm(LanguageNumber number, LanguageCase _case, LanguagePossessive possessive, LanguageArticle article) {
+        if (number == null || _case == null || possessive == null || article == null) {
+            return computeApproximateNounForm(number, _case, possessive, article);
+        }
+        NounForm[] table = this.approximateNounForms;
+        if (table == null) {
+            table = new NounForm[NUMBER_COUNT * CASE_COUNT * POSSESSIVE_COUNT * ARTICLE_COUNT];
+            this.approximateNounForms = table;
+        }
+        int index = ((number.ordinal() * CASE_COUNT + _case.ordinal()) * POSSESSIVE_COUNT + possessive.ordinal()) * ARTICLE_COUNT + article.ordinal();
+        NounForm result = table[index];
+        if (result == null) {
+            result = computeApproximateNounForm(number, _case, possessive, article);
+            table[index] = result;
+        }
+        return result;
+    }
+
+    /**
+     * Walk the fallback cascade for {@link #getApproximateNounForm(LanguageNumber, LanguageCase, LanguagePossessive, LanguageArticle)}.
+     * The result is memoized per combination, so this must only depend on the arguments and the declension itself.
+     */
+    private NounForm computeApproximateNounForm(LanguageNumber number, LanguageCase _case, LanguagePossessive possessive, LanguageArticle article) {
         NounForm baseForm = getExactNounForm(number, _case, possessive, article);
 
         // RECURSION: Try to use the "Legacy" article support (i.e. there are articles, but no support for them.
@@ -347,6 +385,31 @@ public abstract class AbstractLanguageDeclension implements LanguageDeclension {
 
     @Override
     public AdjectiveForm getApproximateAdjectiveForm(LanguageStartsWith startsWith, LanguageGender gender, LanguageNumber number, LanguageCase _case, LanguageArticle article, LanguagePossessive possessive) {
+        if (startsWith == null || gender == null || number == null || _case == null || article == null || possessive == null) {
+            return computeApproximateAdjectiveForm(startsWith, gender, number, _case, article, possessive);
+        }
+        AdjectiveForm[][] table = this.approximateAdjectiveForms;
+        if (table == null) {
+            table = new AdjectiveForm[STARTS_WITH_COUNT * GENDER_COUNT * NUMBER_COUNT][];
+            this.approximateAdjectiveForms = table;
+        }
+        // Two levels, since the full product of all six dimensions is far larger than what any declension uses
+        int outer = (startsWith.ordinal() * GENDER_COUNT + gender.ordinal()) * NUMBER_COUNT + number.ordinal();
+        AdjectiveForm[] forms = table[outer];
+        if (forms == null) {
+            forms = new AdjectiveForm[CASE_COUNT * ARTICLE_COUNT * POSSESSIVE_COUNT];
+            table[outer] = forms;
+        }
+        int inner = (_case.ordinal() * ARTICLE_COUNT + article.ordinal()) * POSSESSIVE_COUNT + possessive.ordinal();
+        AdjectiveForm result = forms[inner];
+        if (result == null) {
+            result = computeApproximateAdjectiveForm(startsWith, gender, number, _case, article, possessive);
+            forms[inner] = result;
+        }
+        return result;
+    }
+
+    private AdjectiveForm computeApproximateAdjectiveForm(LanguageStartsWith startsWith, LanguageGender gender, LanguageNumber number, LanguageCase _case, LanguageArticle article, LanguagePossessive possessive) {
         AdjectiveForm baseForm = getAdjectiveForm(startsWith, gender, number, _case, article, possessive);
         if (baseForm != null)
          {
@@ -418,6 +481,24 @@ public abstract class AbstractLanguageDeclension implements LanguageDeclension {
 
     @Override
     public ArticleForm getApproximateArticleForm(LanguageStartsWith startsWith, LanguageGender gender, LanguageNumber number, LanguageCase _case) {
+        if (startsWith == null || gender == null || number == null || _case == null) {
+            return computeApproximateArticleForm(startsWith, gender, number, _case);
+        }
+        ArticleForm[] table = this.approximateArticleForms;
+        if (table == null) {
+            table = new ArticleForm[STARTS_WITH_COUNT * GENDER_COUNT * NUMBER_COUNT * CASE_COUNT];
+            this.approximateArticleForms = table;
+        }
+        int index = ((startsWith.ordinal() * GENDER_COUNT + gender.ordinal()) * NUMBER_COUNT + number.ordinal()) * CASE_COUNT + _case.ordinal();
+        ArticleForm result = table[index];
+        if (result == null) {
+            result = computeApproximateArticleForm(startsWith, gender, number, _case);
+            table[index] = result;
+        }
+        return result;
+    }
+
+    private ArticleForm computeApproximateArticleForm(LanguageStartsWith startsWith, LanguageGender gender, LanguageNumber number, LanguageCase _case) {
         // Just try to get the article without the starts with.
         ArticleForm baseForm = getArticleForm(startsWith, gender, number, _case);
         if (baseForm == null && startsWith != getDefaultStartsWith()) {
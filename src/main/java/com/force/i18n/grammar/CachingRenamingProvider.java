@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2026, Salesforce, Inc.
+ * SPDX-License-Identifier: Apache-2
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.force.i18n.grammar;
+
+import java.util.*;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.force.i18n.HumanLanguage;
+import com.force.i18n.Renameable;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * A renaming provider that caches the renamed and packaged nouns of another provider, for use when looking up
+ * a renamed noun is expensive, such as when it is stored with the tenant's metadata.
+ * <p>
+ * Values are cached by language and key, along with a scope (such as the current tenant) and a generation
+ * number supplied by the application; when the renamed nouns of a scope change, the application increments
+ * its generation so that the old values are no longer used and age out of the cache.  The per-request values,
+ * such as {@link #useRenamedNouns()}, aren't cached and are asked of the delegate each time.
+ * <p>
+ * To render a page with at most one call to the delegate for each noun, and with a consistent generation,
+ * open a snapshot around the render:
+ * <pre>
+ *  try (CachingRenamingProvider.Snapshot snapshot = provider.openSnapshot()) {
+ *      ... render
+ *  }
+ * </pre>
+ * While a snapshot is open, all calls on the current thread are answered from it, including the per-request values.
+ */
+public class CachingRenamingProvider implements RenamingProvider {
+    // Marker for a null value, as the cache can't hold nulls
+    private static final Object NONE = new Object();
+
+    private final RenamingProvider delegate;
+    private final Supplier<?> scope;
+    private final LongSupplier generation;
+    private final Cache<NounKey, Object> cache;
+    private final ThreadLocal<Snapshot> snapshot = new ThreadLocal<>();
+
+    /**
+     * @param delegate the provider of the renamed nouns
+     * @param scope the supplier of the scope of the current renamed nouns, such as the tenant, or null if they're global
+     * @param generation the supplier of the generation of the renamed nouns in the current scope
+     * @param maxEntries the maximum number of values to cache
+     */
+    public CachingRenamingProvider(RenamingProvider delegate, Supplier<?> scope, LongSupplier generation, long maxEntries) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.scope = scope != null ? scope : () -> null;
+        this.generation = Objects.requireNonNull(generation);
+        this.cache = Caffeine.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    /**
+     * @return the provider of the renamed nouns
+     */
+    public RenamingProvider getDelegate() {
+        return this.delegate;
+    }
+
+    /**
+     * Open a snapshot of the renamed nouns for the current thread, which is used until it is closed.
+     * Snapshots can be nested, and closing the inner one goes back to the outer one.
+     * @return the new snapshot
+     */
+    public Snapshot openSnapshot() {
+        Snapshot result = new Snapshot(this.snapshot.get());
+        this.snapshot.set(result);
+        return result;
+    }
+
+    /**
+     * @return the snapshot open on the current thread, or null if there isn't one
+     */
+    public Snapshot getSnapshot() {
+        return this.snapshot.get();
+    }
+
+    /**
+     * Remove all the cached values, such as when the generation of a scope can't be changed
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * @return the number of values in the shared cache, for monitoring
+     */
+    public long size() {
+        return this.cache.estimatedSize();
+    }
+
+    @Override
+    public Noun getRenamedNoun(HumanLanguage language, String key) {
+        Snapshot s = this.snapshot.get();
+        return s != null ? s.getRenamedNoun(language, key)
+                : (Noun)lookup(new NounKey(this.scope.get(), this.generation.getAsLong(), Kind.RENAMED, language, key));
+    }
+
+    @Override
+    public Noun getPackagedNoun(HumanLanguage language, String key) {
+        Snapshot s = this.snapshot.get();
+        return s != null ? s.getPackagedNoun(language, key)
+                : (Noun)lookup(new NounKey(this.scope.get(), this.generation.getAsLong(), Kind.PACKAGED, language, key));
+    }
+
+    @Override
+    public boolean isRenamed(HumanLanguage language, String key) {
+        Snapshot s = this.snapshot.get();
+        return s != null ? s.isRenamed(language, key)
+                : (Boolean)lookup(new NounKey(this.scope.get(), this.generation.getAsLong(), Kind.IS_RENAMED, language, key));
+    }
+
+    @Override
+    public Noun getNoun(HumanLanguage language, Renameable key) {
+        // The standard noun comes from the renameable, so only the snapshot can remember it
+        Snapshot s = this.snapshot.get();
+        return s != null ? s.getNoun(language, key) : this.delegate.getNoun(language, key);
+    }
+
+    @Override
+    public boolean isCustomKey(String key) {
+        Snapshot s = this.snapshot.get();
+        return s != null ? s.isCustomKey(key) : this.delegate.isCustomKey(key);
+    }
+
+    @Override
+    public boolean useRenamedNouns() {
+        Snapshot s = this.snapshot.get();
+        return s != null ? s.useRenamedNouns() : this.delegate.useRenamedNouns();
+    }
+
+    @Override
+    public boolean supportOldGrammarEngine() {
+        Snapshot s = this.snapshot.get();
+        return s != null ? s.supportOldGrammarEngine() : this.delegate.supportOldGrammarEngine();
+    }
+
+    @Override
+    public double getLabelVersion() {
+        Snapshot s = this.snapshot.get();
+        return s != null ? s.getLabelVersion() : this.delegate.getLabelVersion();
+    }
+
+    @Override
+    public boolean displayMiddleNameInCalculatedPersonName() {
+        Snapshot s = this.snapshot.get();
+        return s != null ? s.displayMiddleNameInCalculatedPersonName() : this.delegate.displayMiddleNameInCalculatedPersonName();
+    }
+
+    @Override
+    public boolean displaySuffixInCalculatedPersonName() {
+        Snapshot s = this.snapshot.get();
+        return s != null ? s.displaySuffixInCalculatedPersonName() : this.delegate.displaySuffixInCalculatedPersonName();
+    }
+
+    private Object lookup(NounKey key) {
+        Object result = this.cache.get(key, this::load);
+        return result == NONE ? null : result;
+    }
+
+    private Object load(NounKey key) {
+        Object result;
+        switch (key.kind) {
+        case RENAMED: result = this.delegate.getRenamedNoun(key.language, key.key); break;
+        case PACKAGED: result = this.delegate.getPackagedNoun(key.language, key.key); break;
+        case IS_RENAMED: result = this.delegate.isRenamed(key.language, key.key); break;
+        default: throw new AssertionError(key.kind);
+        }
+        return result != null ? result : NONE;
+    }
+
+    /**
+     * The renamed nouns and per-request values for one request on one thread, with the scope and generation
+     * fixed when it was opened.  This isn't thread safe.
+     */
+    public final class Snapshot implements RenamingProvider, AutoCloseable {
+        private final Snapshot outer;
+        private final Object snapshotScope;
+        private final long snapshotGeneration;
+        private final Map<NounKey, Object> values = new HashMap<>();
+        private final Map<String, Noun> nouns = new HashMap<>();
+        private final Map<String, Boolean> customKeys = new HashMap<>();
+        private Boolean useRenamedNouns;
+        private Boolean supportOldGrammarEngine;
+        private Double labelVersion;
+        private Boolean displayMiddleName;
+        private Boolean displaySuffix;
+        private boolean closed;
+
+        Snapshot(Snapshot outer) {
+            this.outer = outer;
+            this.snapshotScope = scope.get();
+            this.snapshotGeneration = generation.getAsLong();
+        }
+
+        /**
+         * @return the generation of the renamed nouns used by this snapshot
+         */
+        public long getGeneration() {
+            return this.snapshotGeneration;
+        }
+
+        @Override
+        public Noun getRenamedNoun(HumanLanguage language, String key) {
+            return (Noun)get(Kind.RENAMED, language, key);
+        }
+
+        @Override
+        public Noun getPackagedNoun(HumanLanguage language, String key) {
+            return (Noun)get(Kind.PACKAGED, language, key);
+        }
+
+        @Override
+        public boolean isRenamed(HumanLanguage language, String key) {
+            return (Boolean)get(Kind.IS_RENAMED, language, key);
+        }
+
+        @Override
+        public Noun getNoun(HumanLanguage language, Renameable key) {
+            return this.nouns.computeIfAbsent(language.getLocaleString() + '\u0000' + key.getName(), k -> delegate.getNoun(language, key));
+        }
+
+        @Override
+        public boolean isCustomKey(String key) {
+            return this.customKeys.computeIfAbsent(key, delegate::isCustomKey);
+        }
+
+        @Override
+        public boolean useRenamedNouns() {
+            if (this.useRenamedNouns == null) {
+                this.useRenamedNouns = delegate.useRenamedNouns();
+            }
+            return this.useRenamedNouns;
+        }
+
+        @Override
+        public boolean supportOldGrammarEngine() {
+            if (this.supportOldGrammarEngine == null) {
+                this.supportOldGrammarEngine = delegate.supportOldGrammarEngine();
+            }
+            return this.supportOldGrammarEngine;
+        }
+
+        @Override
+        public double getLabelVersion() {
+            if (this.labelVersion == null) {
+                this.labelVersion = delegate.getLabelVersion();
+            }
+            return this.labelVersion;
+        }
+
+        @Override
+        public boolean displayMiddleNameInCalculatedPersonName() {
+            if (this.displayMiddleName == null) {
+                this.displayMiddleName = delegate.displayMiddleNameInCalculatedPersonName();
+            }
+            return this.displayMiddleName;
+        }
+
+        @Override
+        public boolean displaySuffixInCalculatedPersonName() {
+            if (this.displaySuffix == null) {
+                this.displaySuffix = delegate.displaySuffixInCalculatedPersonName();
+            }
+            return this.displaySuffix;
+        }
+
+        /**
+         * Stop using this snapshot on the current thread, going back to the snapshot that was open before it, if any
+         */
+        @Override
+        public void close() {
+            if (!this.closed) {
+                this.closed = true;
+                if (snapshot.get() == this) {
+                    if (this.outer != null) {
+                        snapshot.set(this.outer);
+                    } else {
+                        snapshot.remove();
+                    }
+                }
+            }
+        }
+
+        private Object get(Kind kind, HumanLanguage language, String key) {
+            NounKey nounKey = new NounKey(this.snapshotScope, this.snapshotGeneration, kind, language, key);
+            Object result = this.values.get(nounKey);
+            if (result == null) {
+                result = cache.get(nounKey, CachingRenamingProvider.this::load);
+                this.values.put(nounKey, result);
+            }
+            return result == NONE ? null : result;
+        }
+    }
+
+    private enum Kind {
+        RENAMED,
+        PACKAGED,
+        IS_RENAMED
+    }
+
+    private static final class NounKey {
+        private final Object scope;
+        private final long generation;
+        private final Kind kind;
+        private final HumanLanguage language;
+        private final String key;
+
+        NounKey(Object scope, long generation, Kind kind, HumanLanguage language, String key) {
+            this.scope = scope;
+            this.generation = generation;
+            this.kind = kind;
+            this.language = language;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof NounKey)) return false;
+            NounKey other = (NounKey)o;
+            return this.generation == other.generation && this.kind == other.kind && Objects.equals(this.scope, other.scope)
+                    && Objects.equals(this.language, other.language) && Objects.equals(this.key, other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.scope, this.generation, this.kind, this.language, this.key);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2025, Salesforce, Inc.
+ * SPDX-License-Identifier: Apache-2
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.force.i18n.grammar;
+
+import java.util.*;
+
+import com.force.i18n.LabelReference;
+import com.force.i18n.grammar.GrammaticalTerm.TermType;
+import com.force.i18n.grammar.parser.RefTag;
+import com.force.i18n.grammar.parser.TermRefTag;
+
+/**
+ * An estimate of the heap retained by a label set or dictionary, for sizing and for deciding which languages to keep
+ * loaded.  The sizes are estimated from the shape of the data, assuming a 64-bit JVM with compressed references,
+ * and aren't exact.
+ * <p>
+ * Each object is counted once per footprint, so strings interned across labels only count where they're first seen.
+ * Structures shared with other languages are split: a section shared with the fallback language counts half, and
+ * the key index shared by every language of a loader can be divided with {@link #withKeyIndexSharedBy(int)}.
+ * References to terms are pooled statically, and each footprint that uses one counts it and its pool entry; the
+ * references that no label set uses any more are only counted by {@link #getRefTagPools()}.
+ *
+ * @see GrammaticalLabelSet#footprint()
+ * @see LanguageDictionary#footprint()
+ */
+public final class Footprint {
+    static final int OBJECT = 16;
+    static final int REFERENCE = 4;
+    static final int ARRAY = 16;
+    static final int MAP_ENTRY = 32;
+
+    private final SortedMap<String, Long> sections;
+    private final Map<TermType, Long> terms;
+    private final long keyIndex;
+    private final long refTags;
+
+    private Footprint(SortedMap<String, Long> sections, Map<TermType, Long> terms, long keyIndex, long refTags) {
+        this.sections = Collections.unmodifiableSortedMap(sections);
+        this.terms = Collections.unmodifiableMap(terms);
+        this.keyIndex = keyIndex;
+        this.refTags = refTags;
+    }
+
+    /**
+     * @return the bytes of the values of each label section, by section name
+     */
+    public SortedMap<String, Long> getSections() {
+        return this.sections;
+    }
+
+    /**
+     * @return the bytes of all of the label values
+     */
+    public long getLabels() {
+        long result = 0;
+        for (long bytes : this.sections.values()) {
+            result += bytes;
+        }
+        return result;
+    }
+
+    /**
+     * @return the bytes of the terms of the dictionary, by type
+     */
+    public Map<TermType, Long> getTerms() {
+        return this.terms;
+    }
+
+    /**
+     * @return the bytes of the section and label names and the maps from them to the values
+     */
+    public long getKeyIndex() {
+        return this.keyIndex;
+    }
+
+    /**
+     * @return the bytes of the references to terms in the labels, with their entries in the static pools.  These are
+     * pooled, so languages with the same references may share them.
+     */
+    public long getRefTags() {
+        return this.refTags;
+    }
+
+    /**
+     * @return the bytes of the static pools of references to terms, with the references, for every label set of the
+     * JVM.  This isn't part of any footprint, as the pools outlive the label sets.
+     */
+    public static long getRefTagPools() {
+        return TermRefTag.getPoolSize() * (Builder.REF_TAG + MAP_ENTRY);
+    }
+
+    /**
+     * @return the estimated total bytes
+     */
+    public long getTotal() {
+        long result = getLabels() + this.keyIndex + this.refTags;
+        for (long bytes : this.terms.values()) {
+            result += bytes;
+        }
+        return result;
+    }
+
+    /**
+     * @param sharers the number of languages sharing the key index, such as the languages loaded with shared keys
+     * @return a footprint with this language's part of the key index
+     */
+    public Footprint withKeyIndexSharedBy(int sharers) {
+        if (sharers <= 1) {
+            return this;
+        }
+        return new Footprint(new TreeMap<>(this.sections), this.terms, this.keyIndex / sharers, this.refTags);
+    }
+
+    @Override
+    public String toString() {
+        return "Footprint[total=" + getTotal() + ", labels=" + getLabels() + ", terms=" + this.terms
+                + ", keyIndex=" + this.keyIndex + ", refTags=" + this.refTags + "]";
+    }
+
+    /**
+     * Adds up a footprint, counting each object once
+     */
+    static final class Builder {
+        static final long REF_TAG = align(OBJECT + 4L * REFERENCE);
+
+        private final Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final SortedMap<String, Long> sections = new TreeMap<>();
+        private final Map<TermType, Long> terms = new EnumMap<>(TermType.class);
+        private long keyIndex;
+        private long refTags;
+
+        void addSection(String name, long bytes) {
+            this.sections.merge(name, bytes, Long::sum);
+        }
+
+        void addTerm(TermType type, long bytes) {
+            this.terms.merge(type, bytes, Long::sum);
+        }
+
+        void addKeyIndex(long bytes) {
+            this.keyIndex += bytes;
+        }
+
+        /**
+         * @return {@code true} if the object hasn't been counted yet, in which case the caller should count it
+         */
+        boolean firstSeen(Object o) {
+            return o != null && this.seen.add(o);
+        }
+
+        /**
+         * @return the bytes of the string, or 0 if it was already counted
+         */
+        long sizeOf(String str) {
+            if (!firstSeen(str)) {
+                return 0;
+            }
+            boolean latin1 = true;
+            for (int i = 0; i < str.length() && latin1; i++) {
+                latin1 = str.charAt(i) <= 0xFF;
+            }
+            return align(24) + align(ARRAY + (latin1 ? str.length() : 2L * str.length()));
+        }
+
+        /**
+         * @return the bytes of a label value that weren't already counted.  References to terms are added to the
+         * ref tags instead.
+         */
+        long sizeOfLabel(Object value) {
+            if (value instanceof String) {
+                return sizeOf((String)value);
+            }
+            if (!firstSeen(value)) {
+                return 0;
+            }
+            if (value instanceof List) {
+                List<?> list = (List<?>)value;
+                long result = OBJECT + align(ARRAY + (long)REFERENCE * list.size());
+                for (Object part : list) {
+                    result += sizeOfLabel(part);
+                }
+                return result;
+            }
+            if (value instanceof RefTag) {
+                // Term references are also held by their static pool
+                this.refTags += REF_TAG + (value instanceof TermRefTag ? MAP_ENTRY : 0);
+                return 0;
+            }
+            if (value instanceof LabelReference) {
+                LabelReference ref = (LabelReference)value;
+                return align(OBJECT + 2L * REFERENCE) + sizeOf(ref.getSection()) + sizeOf(ref.getKey());
+            }
+            return OBJECT;
+        }
+
+        Footprint build() {
+            return new Footprint(this.sections, this.terms, this.keyIndex, this.refTags);
+        }
+
+        private static long align(long bytes) {
+            return (bytes + 7) & ~7L;
+        }
+    }
+}
@@ -18,10 +18,14 @@
 package com.force.i18n.grammar;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import com.force.i18n.*;
+import com.force.i18n.grammar.GrammaticalTerm.TermType;
 import com.force.i18n.settings.*;
 
 
@@ -93,6 +97,65 @@ public interface GrammaticalLabelSet extends LabelSet {
     String getString(String section, String param, Renameable[] entities, boolean forMessageFormat, Object... vals);
 
 
+    /**
+     * Resolve a label once into a handle that can be passed to the handle overloads below.  The handle is
+     * valid for every label set loaded by the same loader, so it can be kept in a constant.
+     * @param section the section of the label
+     * @param param the param of the label
+     * @return a handle for the label; the label doesn't need to exist
+     */
+    LabelHandle getLabelHandle(String section, String param);
+
+    /**
+     * @param handle the handle of the label to look up
+     * @return the value contained in this label set for the given handle
+     * @see #get(String, String, boolean)
+     */
+    Object get(LabelHandle handle);
+
+    /**
+     * @param handle the handle of the label to look up
+     * @return the label contained in this label set for the given handle.
+     */
+    String getString(LabelHandle handle);
+
+    /**
+     * @param handle the handle of the label to look up
+     * @param entities the renamable entities for replace
+     * @param forMessageFormat whether this will be put into message format and the single quotes need to be doubled
+     * @return the label contained in this label set for the given handle.
+     */
+    String getString(LabelHandle handle, Renameable[] entities, boolean forMessageFormat);
+
+    /**
+     * Labels that are plain text are encoded once and the bytes are kept by the label set, so repeated
+     * writes do no encoding or escaping.  Other labels are rendered and encoded on each call.
+     * @param handle the handle of the label to look up
+     * @param escapeHtml whether the label should be HTML escaped
+     * @return the UTF-8 bytes of the label.  The array may be shared and must not be modified.
+     */
+    byte[] getUtf8(LabelHandle handle, boolean escapeHtml);
+
+    /**
+     * Write the UTF-8 bytes of the label to the stream.
+     * @param handle the handle of the label to look up
+     * @param escapeHtml whether the label should be HTML escaped
+     * @param out the stream to write to
+     * @throws IOException if there's an error writing to the stream
+     * @see #getUtf8(LabelHandle, boolean)
+     */
+    void writeTo(LabelHandle handle, boolean escapeHtml, OutputStream out) throws IOException;
+
+    /**
+     * Write the UTF-8 bytes of the label to the buffer.
+     * @param handle the handle of the label to look up
+     * @param escapeHtml whether the label should be HTML escaped
+     * @param buffer the buffer to write to
+     * @throws java.nio.BufferOverflowException if there isn't enough room in the buffer
+     * @see #getUtf8(LabelHandle, boolean)
+     */
+    void writeTo(LabelHandle handle, boolean escapeHtml, ByteBuffer buffer);
+
     /**
      * @return the dictionary associated with this label set
      */
@@ -123,6 +186,16 @@ public interface GrammaticalLabelSet extends LabelSet {
      */
     void writeJson(Appendable appendable, Collection<String> keysToInclude, Set<GrammaticalTerm> termsInUse) throws IOException;
 
+    /**
+     * Write the entire label set to the given stream as UTF-8 json, in the same format as
+     * {@link #writeJson(Appendable, Collection, Set)}
+     * @param out the stream to write to
+     * @param keysToInclude optional set of section names or section.key names that restrict which labels to include
+     * @param termsInUse if provided and non null, the set of used terms by all the given labels will be added to it;
+     * @throws IOException if there's an error writing to the stream
+     */
+    void writeJson(OutputStream out, Collection<String> keysToInclude, Set<GrammaticalTerm> termsInUse) throws IOException;
+
     /**
      * For a set of labels, determine which Grammatical Terms are in use.  This allows downloading
      * only a subset of nouns to the client.
@@ -131,6 +204,30 @@ public interface GrammaticalLabelSet extends LabelSet {
      */
     Collection<? extends GrammaticalTerm> getUsedTerms(Collection<String> keysToInclude);
 
+    /**
+     * The reverse of {@link #getUsedTerms(Collection)}: the labels whose value depends on a term, such as
+     * to invalidate only the cached renderings of those labels when a noun is renamed.  Terms are matched by name,
+     * which noun version overrides don't change, so the labels are the same for every label version.
+     * @param type the type of the term
+     * @param termName the name of the term, in any case
+     * @return the handles of the labels that refer to the term, which is empty if none do
+     */
+    List<LabelHandle> getLabelsUsingTerm(TermType type, String termName);
+
+    /**
+     * @return an estimate of the heap retained by the labels of this set and the terms of its dictionary.  A set
+     * that falls back to another language only includes its own labels.
+     */
+    Footprint footprint();
+
+    /**
+     * Render labels, and the json of the labels and of the terms they use, so that they are cached before the first
+     * request.  As this isn't a real use, the labels aren't tracked by {@link LabelUsage}.
+     * @param labels the labels to render; the ones that aren't in this set are skipped
+     * @return the number of labels rendered
+     */
+    int warmUp(Collection<? extends LabelReference> labels);
+
     /**
      * An interface that is a composite of two GrammaticalLabelSets, a fallback
      * set for any values that are missing from an overlay set
@@ -113,6 +113,20 @@ public final class GrammaticalLabelSetFallbackImpl extends GrammaticalLabelSetIm
         return result;
     }
 
+    @Override
+    protected Object inner_get(LabelHandle handle, boolean throwSettingsSectionNotFoundException) throws SettingsSectionNotFoundException {
+        if (logFallback) {
+            // Need to know which set the value came from
+            return inner_get(handle.getSection(), handle.getKey(), throwSettingsSectionNotFoundException);
+        }
+        Object result = super.inner_get(handle, throwSettingsSectionNotFoundException);
+        while (result instanceof LabelReference) {
+            result = ask_inner_get(((LabelReference)result).getSection(), ((LabelReference)result).getKey(),
+                    throwSettingsSectionNotFoundException, false);
+        }
+        return result;
+    }
+
     /**
      * @return the object for the section and param in either the main or fallback, logging bad label feedback if necessary
      * @param section the section name of the label
@@ -193,6 +207,110 @@ public final class GrammaticalLabelSetFallbackImpl extends GrammaticalLabelSetIm
         return term;
     }
 
+    @Override
+    public Footprint footprint() {
+        return main.footprint();  // The fallback is accounted for by its own language
+    }
+
+    /**
+     * Warm up the main and fallback sets as well, as they're the ones kept by the loaders
+     */
+    @Override
+    public int warmUp(Collection<? extends LabelReference> labels) {
+        main.warmUp(labels);
+        fallback.warmUp(labels);
+        return super.warmUp(labels);
+    }
+
+    /**
+     * Combine the indexes of the main and fallback sets, instead of building one for every fallback set.  Aliases
+     * are resolved through the main set, so an alias of the fallback set depends on the main value of its target.
+     */
+    @Override
+    public List<LabelHandle> getLabelsUsingTerm(GrammaticalTerm.TermType type, String termName) {
+        List<LabelHandle> mainLabels = main.getLabelsUsingTerm(type, termName);
+        List<LabelHandle> result = null;
+        for (LabelHandle handle : fallback.getLabelsUsingTerm(type, termName)) {
+            // Labels overridden by the main set, or aliases of them, depend on the main value
+            if (!main.containsParam(handle.getSection(), handle.getKey()) && !isAliasOfMain(handle)) {
+                if (result == null) result = new ArrayList<>(mainLabels);
+                result.add(handle);
+                // As do the labels of the main set that are aliases of it
+                result.addAll(getAliasesOf(main, handle));
+            }
+        }
+        for (LabelHandle handle : mainLabels) {
+            for (LabelHandle alias : getFallbackAliasesOf(handle)) {
+                if (result == null) result = new ArrayList<>(mainLabels);
+                result.add(alias);
+                result.addAll(getAliasesOf(main, alias));
+            }
+        }
+        return result != null ? Collections.unmodifiableList(result) : mainLabels;
+    }
+
+    /**
+     * Combine the aliases of the main and fallback sets, like {@link #getLabelsUsingTerm(GrammaticalTerm.TermType, String)}
+     */
+    @Override
+    List<LabelHandle> getAliasesOf(LabelHandle target) {
+        List<LabelHandle> fallbackAliases = getFallbackAliasesOf(target);
+        if (fallbackAliases.isEmpty()) {
+            return getAliasesOf(main, target);
+        }
+        List<LabelHandle> result = new ArrayList<>(getAliasesOf(main, target));
+        for (LabelHandle alias : fallbackAliases) {
+            result.add(alias);
+            result.addAll(getAliasesOf(main, alias));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static List<LabelHandle> getAliasesOf(GrammaticalLabelSet set, LabelHandle target) {
+        return set instanceof GrammaticalLabelSetImpl ? ((GrammaticalLabelSetImpl)set).getAliasesOf(target) : Collections.emptyList();
+    }
+
+    /**
+     * @return the aliases of the fallback set that aren't overridden, and that get to the target before any label of
+     * the main set
+     */
+    private List<LabelHandle> getFallbackAliasesOf(LabelHandle target) {
+        List<LabelHandle> result = null;
+        for (LabelHandle alias : getAliasesOf(fallback, target)) {
+            if (!main.containsParam(alias.getSection(), alias.getKey()) && target.equals(getMainTarget(alias, target))) {
+                if (result == null) result = new ArrayList<>();
+                result.add(alias);
+            }
+        }
+        return result != null ? result : Collections.emptyList();
+    }
+
+    /**
+     * @return whether the label of the fallback set is an alias of a label of the main set, directly or through other aliases
+     */
+    private boolean isAliasOfMain(LabelHandle handle) {
+        return getMainTarget(handle, null) != null;
+    }
+
+    /**
+     * Follow the aliases of the fallback set, as the labels are resolved by {@link #inner_get(String, String, boolean)}
+     * @param handle a label of the fallback set
+     * @param stopAt a label to stop at, even if the main set doesn't contain it, or null
+     * @return the first label the aliases go through that the main set contains or that is stopAt, or null if there's none
+     */
+    private LabelHandle getMainTarget(LabelHandle handle, LabelHandle stopAt) {
+        Object value = fallback.getPropertyFileData().get(handle.getSection(), handle.getKey());
+        for (int depth = 0; value instanceof LabelReference && depth < 8; depth++) {
+            LabelReference ref = (LabelReference)value;
+            LabelHandle target = LabelHandle.unresolved(ref.getSection(), ref.getKey());
+            if (target.equals(stopAt) || main.containsParam(ref.getSection(), ref.getKey())) {
+                return target;
+            }
+            value = fallback.getPropertyFileData().get(ref.getSection(), ref.getKey());
+        }
+        return null;
+    }
+
     /**
      * An implementation of PropertyFileData that is a composition of two property files
      */
@@ -225,6 +343,19 @@ public final class GrammaticalLabelSetFallbackImpl extends GrammaticalLabelSetIm
             return fallback.get(sectionName, paramName);
         }
         @Override
+        public LabelHandle resolveHandle(String sectionName, String paramName) {
+            // The overlay and fallback normally share a seed, so one handle serves both
+            LabelHandle handle = overlay.resolveHandle(sectionName, paramName);
+            return handle.isResolved() ? handle : fallback.resolveHandle(sectionName, paramName);
+        }
+        @Override
+        public Object get(LabelHandle handle) {
+            Object overlayValue = overlay.get(handle);
+            if (overlayValue != null) return overlayValue;
+
+            return fallback.get(handle);
+        }
+        @Override
         public Set<Entry<String, Map<String, Object>>> entrySet() {
             throw new UnsupportedOperationException("You should not iterate through the entry set of a composite property file");
         }
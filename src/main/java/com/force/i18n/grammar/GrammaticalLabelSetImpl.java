@@ -18,27 +18,41 @@
 package com.force.i18n.grammar;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
+import com.force.i18n.I18nJavaUtil;
 import com.force.i18n.LabelReference;
 import com.force.i18n.LabelSetImpl;
 import com.force.i18n.LabelUsage;
 import com.force.i18n.LanguageLabelSetDescriptor.GrammaticalLabelSetDescriptor;
 import com.force.i18n.Renameable;
 import com.force.i18n.commons.text.TextUtil;
+import com.force.i18n.grammar.GrammaticalTerm.TermType;
 import com.force.i18n.grammar.parser.GrammaticalLabelFileParser;
 import com.force.i18n.grammar.parser.LanguageDictionaryParser;
 import com.force.i18n.grammar.parser.RefTag;
 import com.force.i18n.grammar.parser.TermRefTag;
+import com.force.i18n.settings.LabelHandle;
 import com.force.i18n.settings.ParameterNotFoundException;
 import com.force.i18n.settings.PropertyFileData;
 import com.force.i18n.settings.SettingsSectionNotFoundException;
+import com.force.i18n.settings.SharedKeyMapPropertyFileData;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 
 /**
@@ -52,9 +66,27 @@ public class GrammaticalLabelSetImpl extends LabelSetImpl implements Grammatical
 
 	private static final Logger logger = Logger.getLogger(GrammaticalLabelSetImpl.class.getName());
 
+    private static final long ENCODED_LABELS_MAX_SIZE = I18nJavaUtil.getPropertyLong("labelSet.encodedLabels.maxSize");
+    private static final long JSON_LABELS_MAX_SIZE = I18nJavaUtil.getPropertyLong("labelSet.jsonLabels.maxSize");
+
+    private static final AtomicLong GENERATIONS = new AtomicLong();
+
     private final LanguageDictionary dictionary;
     private final Set<String> publicSections;
 
+    // Identifies this instance among the label sets loaded by this JVM, assigned on first use.  see getGeneration
+    private transient volatile long generation;
+
+    // UTF-8 forms of the static (plain String) labels that have been written as bytes, created on first use
+    private transient volatile Cache<LabelHandle, EncodedLabel> encodedLabels;
+
+    // Json serialized labels and the terms they use, for writeJson, created on first use.  Keyed by
+    // JsonLabelKey when the dictionary has noun version overrides, as the terms depend on the label version.
+    private transient volatile Cache<Object, JsonLabel> jsonLabels;
+
+    // The labels that refer to each term, built at load or on first use.  see getLabelsUsingTerm
+    private transient volatile TermIndex termIndex;
+
     /**
      * @param dictionary the dictionary that was filled in by the parser
      * @param p the parser
@@ -241,6 +273,139 @@ public class GrammaticalLabelSetImpl extends LabelSetImpl implements Grammatical
         return super.get(section, param, ifNull);
     }
 
+    @Override
+    public LabelHandle getLabelHandle(String section, String param) {
+        return resolveHandle(section, param);
+    }
+
+    @Override
+    public Object get(LabelHandle handle) {
+        LabelUsage.get().trackLabel(handle);
+        Object result = inner_get(handle, true);
+        if (result == null) {
+            return processMissingLabel(
+                "PropertyFile - val " + handle.getKey() + " not found in section " + handle.getSection(), false);
+        }
+        return result;
+    }
+
+    @Override
+    public String getString(LabelHandle handle) {
+        return formatString(this.get(handle), null, null, false);
+    }
+
+    @Override
+    public String getString(LabelHandle handle, Renameable[] entities, boolean forMessageFormat) {
+        return formatString(this.get(handle), entities, null, forMessageFormat);
+    }
+
+    @Override
+    public byte[] getUtf8(LabelHandle handle, boolean escapeHtml) {
+        LabelUsage.get().trackLabel(handle);
+        return encodeLabel(handle, escapeHtml);
+    }
+
+    private byte[] encodeLabel(LabelHandle handle, boolean escapeHtml) {
+        Cache<LabelHandle, EncodedLabel> cache = getEncodedLabels();
+        EncodedLabel encoded = cache == null ? null : cache.getIfPresent(handle);
+        if (encoded != null) {
+            return encoded.get(escapeHtml);
+        }
+        Object value = inner_get(handle, true);
+        if (value == null) {
+            return encode(processMissingLabel(
+                "PropertyFile - val " + handle.getKey() + " not found in section " + handle.getSection(), false), escapeHtml);
+        }
+        value = resolveLabelRef(value, handle.getSection(), handle.getKey());
+        if (value instanceof String) {
+            encoded = new EncodedLabel((String)value);
+            if (cache != null) {
+                cache.put(handle, encoded);
+            }
+            return encoded.get(escapeHtml);
+        }
+        return encode(formatString(value, null, null, false), escapeHtml);
+    }
+
+    /**
+     * Aliases of labels that aren't in this set are skipped, as they're rendered by the composite of this set and
+     * the one that has them.
+     * @see com.force.i18n.grammar.parser.GrammaticalLabelSetLoader#warmUp
+     */
+    @Override
+    public int warmUp(Collection<? extends LabelReference> labels) {
+        Set<GrammaticalTerm> terms = new HashSet<>();
+        int rendered = 0;
+        for (LabelReference label : labels) {
+            if (containsParam(label.getSection(), label.getKey())) {
+                LabelHandle handle = getLabelHandle(label.getSection(), label.getKey());
+                Object value = inner_get(handle, true);
+                if (value instanceof LabelReference
+                        && !containsParam(((LabelReference)value).getSection(), ((LabelReference)value).getKey())) {
+                    continue;
+                }
+                formatString(value, null, null, false);
+                encodeLabel(handle, false);
+                terms.addAll(getJsonLabel(label.getSection(), label.getKey(), false).terms);
+                rendered++;
+            }
+        }
+        for (GrammaticalTerm term : terms) {
+            term.getJsonEntry();
+        }
+        return rendered;
+    }
+
+    @Override
+    public void writeTo(LabelHandle handle, boolean escapeHtml, OutputStream out) throws IOException {
+        out.write(getUtf8(handle, escapeHtml));
+    }
+
+    @Override
+    public void writeTo(LabelHandle handle, boolean escapeHtml, ByteBuffer buffer) {
+        buffer.put(getUtf8(handle, escapeHtml));
+    }
+
+    private Cache<LabelHandle, EncodedLabel> getEncodedLabels() {
+        Cache<LabelHandle, EncodedLabel> result = this.encodedLabels;
+        if (result == null && ENCODED_LABELS_MAX_SIZE > 0) {
+            synchronized (this) {
+                result = this.encodedLabels;
+                if (result == null) {
+                    result = Caffeine.newBuilder().maximumSize(ENCODED_LABELS_MAX_SIZE).build();
+                    this.encodedLabels = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static byte[] encode(String text, boolean escapeHtml) {
+        if (text == null) {
+            return new byte[0];
+        }
+        return (escapeHtml ? TextUtil.escapeToHtml(text) : text).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The raw and HTML escaped UTF-8 bytes of a static label
+     */
+    private static final class EncodedLabel {
+        private final byte[] utf8;
+        private final byte[] htmlUtf8;
+
+        EncodedLabel(String text) {
+            this.utf8 = text.getBytes(StandardCharsets.UTF_8);
+            String escaped = TextUtil.escapeToHtml(text);
+            // escapeToHtml returns the same instance when there's nothing to escape
+            this.htmlUtf8 = escaped == text ? this.utf8 : escaped.getBytes(StandardCharsets.UTF_8);
+        }
+
+        byte[] get(boolean escapeHtml) {
+            return escapeHtml ? this.htmlUtf8 : this.utf8;
+        }
+    }
+
     // This needs to be available to the parser
     @Override
     public void setLabelSectionToFilename(Map<String, String> sectionMap) {
@@ -298,69 +463,327 @@ public class GrammaticalLabelSetImpl extends LabelSetImpl implements Grammatical
         return this.dictionary;
     }
 
+    /**
+     * Unlike the last modified time, this differs for each load of the same labels, including one that was
+     * deserialized from a cache file, so it can be used to key data derived from the labels of this instance.
+     * @return a number that identifies this instance among the label sets loaded by this JVM
+     */
+    public long getGeneration() {
+        long result = this.generation;
+        if (result == 0) {
+            synchronized (this) {
+                result = this.generation;
+                if (result == 0) {
+                    result = GENERATIONS.incrementAndGet();
+                    this.generation = result;
+                }
+            }
+        }
+        return result;
+    }
+
 	@Override
 	public void writeJson(Appendable out, Collection<String> keysToInclude, Set<GrammaticalTerm> termsInUse) throws IOException {
 		boolean first = true;
 		out.append("{");
-		if (keysToInclude == null) {
-			keysToInclude = sectionNames();
-			// Include all of them.
-		}
-
-		for (String str : keysToInclude) {
+		for (JsonLabel label : getJsonLabels(keysToInclude)) {
 			if (first) {
 				first = false;
 			} else {
 				out.append(",");
 			}
-			List<String> ref = TextUtil.splitSimple(".", str);
-			if (ref.size() == 1) {
-                boolean firstInSection = true;
-				String section = ref.get(0);
-				for (String key : getParams(section, Collections.emptySet())) {
-					if (firstInSection) {
-						firstInSection = false;
-					} else {
-						out.append(",");
-					}
-					appendLabel(out, section, key, termsInUse);
-				}
-			} else {
-				assert ref.size() == 2 : "Invalid key: " + str;
-				String section = ref.get(0);
-				String key = ref.get(1);
-				appendLabel(out, section, key, termsInUse);
-			}
+			out.append(label.json);
+			if (termsInUse != null) termsInUse.addAll(label.terms);
 		}
 		out.append("}");
 	}
 
-
-	void appendLabel(Appendable out, String section, String key, Set<GrammaticalTerm> termsInUse) throws IOException {
-		Object value = get(section, key, null);
-		out.append("\"").append(section).append('.').append(key).append("\":");
-		RefTag.appendJsonLabelValue(dictionary, out, value, termsInUse);
+	@Override
+	public void writeJson(OutputStream out, Collection<String> keysToInclude, Set<GrammaticalTerm> termsInUse) throws IOException {
+		boolean first = true;
+		out.write('{');
+		for (JsonLabel label : getJsonLabels(keysToInclude)) {
+			if (first) {
+				first = false;
+			} else {
+				out.write(',');
+			}
+			out.write(label.getUtf8());
+			if (termsInUse != null) termsInUse.addAll(label.terms);
+		}
+		out.write('}');
 	}
 
 	@Override
 	public Collection<? extends GrammaticalTerm> getUsedTerms(Collection<String> keysToInclude) {
 		Set<GrammaticalTerm> termsToInclude = new HashSet<>();
+		for (JsonLabel label : getJsonLabels(keysToInclude)) {
+			termsToInclude.addAll(label.terms);
+		}
+		return Collections.unmodifiableSet(termsToInclude);
+	}
+
+	@Override
+	public List<LabelHandle> getLabelsUsingTerm(TermType type, String termName) {
+		return getTermIndex().get(type, termName);
+	}
+
+	/**
+	 * @param target a label of this set, or one that isn't in it, such as one of its fallback set
+	 * @return the labels of this set that are aliases of the label, directly or through other aliases
+	 */
+	List<LabelHandle> getAliasesOf(LabelHandle target) {
+		return getTermIndex().getAliasesOf(target);
+	}
+
+	/**
+	 * Build the index used by {@link #getLabelsUsingTerm(TermType, String)} now, instead of on first use
+	 */
+	public void buildTermIndex() {
+		getTermIndex();
+	}
+
+	private TermIndex getTermIndex() {
+		TermIndex result = this.termIndex;
+		if (result == null) {
+			synchronized (this) {
+				result = this.termIndex;
+				if (result == null) {
+					result = new TermIndex();
+					for (String section : sectionNames()) {
+						for (String key : getParams(section, Collections.emptySet())) {
+							Object value = super.get(section, key, null);
+							// Follow aliases without tracking them as used, as this isn't a real use
+							for (int depth = 0; value instanceof LabelReference && depth < 8; depth++) {
+								LabelReference ref = (LabelReference)value;
+								result.addAlias(section, key, ref.getSection(), ref.getKey());
+								if (containsParam(ref.getSection(), ref.getKey())) {
+									value = super.get(ref.getSection(), ref.getKey(), null);
+								} else {
+									// Resolved by the fallback set.  see GrammaticalLabelSetFallbackImpl.getLabelsUsingTerm
+									value = null;
+								}
+							}
+							result.add(section, key, RefTag.getTermsFromLabelValue(this.dictionary, value));
+						}
+					}
+					result.finish(this);
+					this.termIndex = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Footprint footprint() {
+		Footprint.Builder builder = new Footprint.Builder();
+		PropertyFileData data = getPropertyFileData();
+		// Shared key data can't be iterated while another language sharing its seed is loaded
+		Collection<Map.Entry<String, Map<String, Object>>> sections = data instanceof SharedKeyMapPropertyFileData
+				? ((SharedKeyMapPropertyFileData)data).snapshotSections() : data.entrySet();
+		for (Map.Entry<String, Map<String, Object>> section : sections) {
+			long bytes = Footprint.OBJECT + Footprint.ARRAY + (long)Footprint.REFERENCE * section.getValue().size();
+			long keys = Footprint.MAP_ENTRY + builder.sizeOf(section.getKey());
+			for (Map.Entry<String, Object> label : section.getValue().entrySet()) {
+				keys += Footprint.MAP_ENTRY + builder.sizeOf(label.getKey());
+				bytes += builder.sizeOfLabel(label.getValue());
+			}
+			if (data instanceof SharedKeyMapPropertyFileData && ((SharedKeyMapPropertyFileData)data).isShared(section.getKey())) {
+				bytes /= 2;  // with the fallback language
+			}
+			builder.addSection(section.getKey(), bytes);
+			builder.addKeyIndex(keys);
+		}
+		this.dictionary.addFootprint(builder);
+		return builder.build();
+	}
+
+	/**
+	 * @return the serialized labels for the keys, in order
+	 * @param keysToInclude section names or section.key names, or null for every section
+	 */
+	private List<JsonLabel> getJsonLabels(Collection<String> keysToInclude) {
+		if (keysToInclude == null) {
+			keysToInclude = sectionNames();
+			// Include all of them.
+		}
+
+		List<JsonLabel> result = new ArrayList<>(keysToInclude.size());
 		for (String str : keysToInclude) {
-			List<String> ref = TextUtil.splitSimple(".", str);
-			if (ref.size() == 1) {
-				String section = ref.get(0);
-				for (String key : getParams(section, Collections.emptySet())) {
-					Object value = get(section, key, null);
-					termsToInclude.addAll(RefTag.getTermsFromLabelValue(this.dictionary, value));
+			int dot = str.indexOf('.');
+			if (dot < 0) {
+				for (String key : getParams(str, Collections.emptySet())) {
+					result.add(getJsonLabel(str, key, true));
 				}
 			} else {
-				assert ref.size() == 2 : "Invalid key: " + str;
-				String section = ref.get(0);
-				String key = ref.get(1);
-				Object value = get(section, key, null);
-				termsToInclude.addAll(RefTag.getTermsFromLabelValue(this.dictionary, value));
+				assert str.indexOf('.', dot + 1) < 0 : "Invalid key: " + str;
+				result.add(getJsonLabel(str.substring(0, dot), str.substring(dot + 1), true));
 			}
 		}
-		return Collections.unmodifiableSet(termsToInclude);
+		return result;
+	}
+
+	private JsonLabel getJsonLabel(String section, String key, boolean track) {
+		if (track) {
+			LabelUsage.get().trackLabel(section, key);
+		}
+		Cache<Object, JsonLabel> cache = getJsonLabelCache();
+		if (cache == null) {
+			return new JsonLabel(section, key, super.get(section, key, null), this.dictionary);
+		}
+		LabelHandle handle = LabelHandle.unresolved(section, key);
+		Object cacheKey = this.dictionary.hasNounVersionOverrides()
+				? new JsonLabelKey(handle, RenamingProviderFactory.get().getProvider().getLabelVersion()) : handle;
+		return cache.get(cacheKey, h -> new JsonLabel(section, key, super.get(section, key, null), this.dictionary));
+	}
+
+	private Cache<Object, JsonLabel> getJsonLabelCache() {
+		Cache<Object, JsonLabel> result = this.jsonLabels;
+		if (result == null && JSON_LABELS_MAX_SIZE > 0) {
+			synchronized (this) {
+				result = this.jsonLabels;
+				if (result == null) {
+					result = Caffeine.newBuilder().maximumSize(JSON_LABELS_MAX_SIZE).build();
+					this.jsonLabels = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The labels that refer to each term, by type and lowercase term name.  The handles of those labels are
+	 * kept once, and each term only keeps the positions of its labels in them.  Terms are kept by name, which a
+	 * noun version override doesn't change, so the index is the same for every label version.
+	 * <p>
+	 * Aliases are also kept by each label they go through, as a fallback set may override one of them, and the
+	 * terms of aliases of labels that aren't in the set are only known by the fallback set.
+	 */
+	private static final class TermIndex {
+		// While building, the first int of each array is the number of positions used
+		private final Map<TermType, Map<String, int[]>> labelsByTerm = new EnumMap<>(TermType.class);
+		private List<String[]> labelNames = new ArrayList<>();
+		private LabelHandle[] labels;
+		private List<String[]> aliasNames;
+		private Map<LabelHandle, List<LabelHandle>> aliases = Collections.emptyMap();
+
+		void addAlias(String section, String key, String targetSection, String targetKey) {
+			if (this.aliasNames == null) {
+				this.aliasNames = new ArrayList<>();
+			}
+			this.aliasNames.add(new String[] {section, key, targetSection, targetKey});
+		}
+
+		void add(String section, String key, Set<GrammaticalTerm> terms) {
+			if (terms.isEmpty()) {
+				return;
+			}
+			int position = this.labelNames.size();
+			this.labelNames.add(new String[] {section, key});
+			for (GrammaticalTerm term : terms) {
+				Map<String, int[]> byName = this.labelsByTerm.computeIfAbsent(term.getTermType(), t -> new HashMap<>());
+				String name = term.getName().toLowerCase();
+				int[] positions = byName.get(name);
+				if (positions == null) {
+					positions = new int[4];
+				} else if (positions[0] + 1 == positions.length) {
+					positions = Arrays.copyOf(positions, positions.length * 2);
+				}
+				positions[++positions[0]] = position;
+				byName.put(name, positions);
+			}
+		}
+
+		void finish(GrammaticalLabelSetImpl labelSet) {
+			for (Map<String, int[]> byName : this.labelsByTerm.values()) {
+				byName.replaceAll((name, positions) -> Arrays.copyOfRange(positions, 1, positions[0] + 1));
+			}
+			this.labels = new LabelHandle[this.labelNames.size()];
+			for (int i = 0; i < this.labels.length; i++) {
+				String[] name = this.labelNames.get(i);
+				this.labels[i] = labelSet.getLabelHandle(name[0], name[1]);
+			}
+			this.labelNames = null;
+			if (this.aliasNames != null) {
+				this.aliases = new HashMap<>();
+				for (String[] name : this.aliasNames) {
+					this.aliases.computeIfAbsent(LabelHandle.unresolved(name[2], name[3]), h -> new ArrayList<>(1))
+							.add(labelSet.getLabelHandle(name[0], name[1]));
+				}
+				this.aliasNames = null;
+			}
+		}
+
+		List<LabelHandle> getAliasesOf(LabelHandle target) {
+			List<LabelHandle> result = this.aliases.get(target);
+			return result != null ? Collections.unmodifiableList(result) : Collections.emptyList();
+		}
+
+		List<LabelHandle> get(TermType type, String termName) {
+			Map<String, int[]> byName = this.labelsByTerm.get(type);
+			int[] found = byName != null && termName != null ? byName.get(termName.toLowerCase()) : null;
+			if (found == null) {
+				return Collections.emptyList();
+			}
+			LabelHandle[] result = new LabelHandle[found.length];
+			for (int i = 0; i < found.length; i++) {
+				result[i] = this.labels[found[i]];
+			}
+			return Collections.unmodifiableList(Arrays.asList(result));
+		}
+	}
+
+	/**
+	 * The key of a json label for a label version, for dictionaries with noun version overrides
+	 */
+	private static final class JsonLabelKey {
+		private final LabelHandle handle;
+		private final double labelVersion;
+
+		JsonLabelKey(LabelHandle handle, double labelVersion) {
+			this.handle = handle;
+			this.labelVersion = labelVersion;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof JsonLabelKey)) return false;
+			JsonLabelKey other = (JsonLabelKey)o;
+			return Double.compare(this.labelVersion, other.labelVersion) == 0 && this.handle.equals(other.handle);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.handle.hashCode() + Double.hashCode(this.labelVersion);
+		}
+	}
+
+	/**
+	 * A label serialized as a "section.key":value member of the json label object, and the terms it refers to
+	 */
+	private static final class JsonLabel {
+		final String json;
+		final Set<GrammaticalTerm> terms;
+		private volatile byte[] utf8;
+
+		JsonLabel(String section, String key, Object value, LanguageDictionary dictionary) {
+			StringBuilder out = new StringBuilder();
+			out.append("\"").append(section).append('.').append(key).append("\":");
+			RefTag.appendJsonLabelValueNoThrow(dictionary, out, value, null);
+			this.json = out.toString();
+			Set<GrammaticalTerm> used = RefTag.getTermsFromLabelValue(dictionary, value);
+			this.terms = used.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(used);
+		}
+
+		byte[] getUtf8() {
+			byte[] result = this.utf8;
+			if (result == null) {
+				result = this.json.getBytes(StandardCharsets.UTF_8);
+				this.utf8 = result;
+			}
+			return result;
+		}
 	}
 }
@@ -20,8 +20,11 @@ package com.force.i18n.grammar;
 import java.text.Collator;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 import com.force.i18n.*;
+import com.force.i18n.commons.text.CollationUtil;
 import com.force.i18n.commons.text.TextUtil;
 import com.force.i18n.grammar.impl.LanguageDeclensionFactory;
 
@@ -175,6 +178,87 @@ public class GrammaticalLocalizer extends BaseLocalizer {
         return getLabel(ref);
     }
 
+    /**
+     * Render a batch of labels in one pass, such as the cells of a list view.  Each distinct label is looked up and
+     * formatted once, and the result is reused by every item that refers to it.
+     * <p>
+     * Each item renders the same text as {@link #getLabel(String, Renameable[], String)}, or as
+     * {@link #getLabel(String, Renameable[], String, Object...)} if the reference has arguments.  If label hints are
+     * requested, they are added once per item.
+     *
+     * @param refs the labels to render
+     * @param entities the renameable entities shared by every label, or {@code null} if there are none
+     * @return the rendered labels, in the same order as {@code refs}
+     */
+    public List<String> getLabels(Collection<? extends LabelReference> refs, Renameable[] entities) {
+        return getLabels(refs, i -> entities);
+    }
+
+    /**
+     * Render a batch of labels in one pass, where each item has its own entities.  Items with the same label and
+     * equal entities are only formatted once.
+     *
+     * @param refs the labels to render
+     * @param entities the renameable entities for each item of {@code refs}, in the same order.  An element may be {@code null}.
+     * @return the rendered labels, in the same order as {@code refs}
+     * @see #getLabels(Collection, Renameable[])
+     */
+    public List<String> getLabelsWithEntities(List<? extends LabelReference> refs, List<Renameable[]> entities) {
+        if (refs.size() != entities.size()) {
+            throw new IllegalArgumentException("Expected entities for each of the " + refs.size() + " labels, got " + entities.size());
+        }
+        return getLabels(refs, entities::get);
+    }
+
+    private List<String> getLabels(Collection<? extends LabelReference> refs, IntFunction<Renameable[]> entitiesForItem) {
+        LabelDebugProvider debugProvider = LabelDebugProvider.get();
+        Map<BatchLabelKey, String> rendered = new HashMap<>();
+        List<String> result = new ArrayList<>(refs.size());
+        int i = 0;
+        for (LabelReference ref : refs) {
+            Object[] args = ref.getArguments();
+            boolean hasArgs = args != null && args.length > 0;
+            String text = rendered.computeIfAbsent(new BatchLabelKey(ref.getSection(), ref.getKey(), entitiesForItem.apply(i++), hasArgs),
+                k -> getLabelSet().getString(k.section, k.entities, k.key, k.forMessageFormat));
+            if (hasArgs) {
+                text = getMessageFormat(text).format(args);
+            }
+            result.add(debugProvider.makeLabelHintIfRequested(text, ref.getSection(), ref.getKey()));
+        }
+        return result;
+    }
+
+    /**
+     * Identifies a label rendered by {@link #getLabels(Collection, Renameable[])}.
+     */
+    private static final class BatchLabelKey {
+        private final String section;
+        private final String key;
+        private final Renameable[] entities;
+        private final boolean forMessageFormat;
+
+        BatchLabelKey(String section, String key, Renameable[] entities, boolean forMessageFormat) {
+            this.section = section;
+            this.key = key;
+            this.entities = entities;
+            this.forMessageFormat = forMessageFormat;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(section, key, Arrays.hashCode(entities), forMessageFormat);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof BatchLabelKey)) return false;
+            BatchLabelKey other = (BatchLabelKey)obj;
+            return section.equals(other.section) && key.equals(other.key) && forMessageFormat == other.forMessageFormat
+                    && Arrays.equals(entities, other.entities);
+        }
+    }
+
     // Temporary variables
     private Collator collator;
     private Comparator<String> comparator;
@@ -208,6 +292,25 @@ public class GrammaticalLocalizer extends BaseLocalizer {
         return TextUtil.getComparator(getCollator(), numElements);
     }
 
+    /**
+     * @return the frozen ICU collator for the user's locale, which is shared across threads
+     * @see CollationUtil#getCollator(Locale)
+     */
+    public com.ibm.icu.text.Collator getSharedCollator() {
+        return CollationUtil.getCollator(getLocale());
+    }
+
+    /**
+     * Sort the list in place in the collation order of the user's locale, using the shared collator.  This is
+     * faster than sorting with {@link #getComparator()} for large lists, as each element is collated once.
+     * @param <T> the type of the elements
+     * @param list the list to sort
+     * @param toString the function that returns the string to sort each element by
+     */
+    public <T> void sort(List<T> list, Function<? super T, String> toString) {
+        CollationUtil.sort(list, toString, getSharedCollator());
+    }
+
     /**
      * @return an instance of a collator that isn't cached locally
      */
@@ -45,6 +45,7 @@ public abstract class GrammaticalTerm implements Serializable, Comparable<Gramma
 
     private String name; // non-final.  see readObject()
     private transient LanguageDeclension declension;
+    private transient volatile String jsonEntry;  // see getJsonEntry()
 
     public enum TermType {
         Noun('n'),
@@ -131,6 +132,35 @@ public abstract class GrammaticalTerm implements Serializable, Comparable<Gramma
 
     public abstract void toJson(Appendable appendable) throws IOException;
 
+    /**
+     * The result is kept, so this should only be used for terms that can no longer change, like those in a
+     * skinny {@link GrammaticalTermMap}.
+     * @return this term as a <code>"name":{...}</code> member of a json object, keyed by the lowercase name
+     * @see #toJson(Appendable)
+     */
+    public String getJsonEntry() {
+        String result = this.jsonEntry;
+        if (result == null) {
+            StringBuilder sb = new StringBuilder();
+            sb.append('\"').append(getName().toLowerCase()).append("\":");
+            try {
+                toJson(sb);
+            } catch (IOException e) {
+                throw new AssertionError(e);  // StringBuilder doesn't throw
+            }
+            result = sb.toString();
+            this.jsonEntry = result;
+        }
+        return result;
+    }
+
+    /**
+     * Forget the json from {@link #getJsonEntry()}, for a copy of this term that may be changed
+     */
+    void clearJsonEntry() {
+        this.jsonEntry = null;
+    }
+
     private void writeObject(ObjectOutputStream out) throws IOException {
         out.defaultWriteObject();
         out.writeInt(this.declension.getLanguage().ordinal());
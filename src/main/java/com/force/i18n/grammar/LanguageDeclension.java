@@ -412,6 +412,13 @@ public interface LanguageDeclension {
         return generateSurfaceFromBase(noun == null ? null : noun.getDefaultString(false), form);
     }
 
+    /**
+     * @return {@code true} if this declension generates noun surfaces at render time through
+     * {@link #generateSurfaceFromBase(String, NounForm)} and {@link #generateSurfaceFromTerm(Noun, NounForm)}.
+     * The generated surface must depend only on the arguments, so that {@link LanguageDictionary} can memoize it.
+     */
+    default boolean hasGeneratedNounSurfaces() { return false; }
+
     /**
      * @return the maximum distance to look for modifiers associated with the noun
      * For languages without spaces between works, this should be 0
@@ -25,6 +25,7 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -39,6 +40,7 @@ import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import com.force.i18n.HumanLanguage;
+import com.force.i18n.I18nJavaUtil;
 import com.force.i18n.Renameable;
 import com.force.i18n.commons.text.TextUtil;
 import com.force.i18n.commons.text.Uniquefy;
@@ -46,7 +48,10 @@ import com.force.i18n.grammar.GrammaticalTerm.TermType;
 import com.force.i18n.grammar.Noun.NounType;
 import com.force.i18n.grammar.impl.GrammaticalTermMapImpl;
 import com.force.i18n.grammar.impl.LanguageDeclensionFactory;
+import com.force.i18n.grammar.impl.OverlayGrammaticalTermMap;
 import com.force.i18n.grammar.parser.RefTag;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Supplier;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
@@ -68,6 +73,9 @@ import com.google.common.collect.SortedSetMultimap;
 public class LanguageDictionary implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    // Max number of generated surfaces remembered per dictionary.  0 turns the memo off.
+    private static final long GENERATED_SURFACES_MAX_SIZE = I18nJavaUtil.getPropertyLong("dictionary.generatedSurfaces.maxSize");
+
     private final HumanLanguage language;
     private transient LanguageDeclension declension;  // Details about noun structure
 
@@ -84,9 +92,15 @@ public class LanguageDictionary implements Serializable {
 
     // Override of noun to nounOverrides
     private SortedSetMultimap<Noun, NounVersionOverride> nounVersionOverrides;
+    // The overrides of each noun by ascending version, for getNounOverride.  Created on first use.
+    private transient volatile Map<Noun, VersionedNoun> versionedNouns;
     // Whether or not we've been "made skinny".
     private transient boolean isSkinny;
 
+    // Surfaces derived at render time by declensions that generate them from the base form (e.g. Basque).
+    // Created on first use.
+    private transient volatile Cache<SurfaceKey, String> generatedSurfaces;
+
 
     // TODO:  Following two map/set *can* be shared across the all
     // instances; but it would have to be concurrent.
@@ -221,6 +235,56 @@ public class LanguageDictionary implements Serializable {
     }
 
 
+    /**
+     * @return an estimate of the heap retained by the terms of this dictionary
+     */
+    public Footprint footprint() {
+        Footprint.Builder builder = new Footprint.Builder();
+        addFootprint(builder);
+        return builder.build();
+    }
+
+    void addFootprint(Footprint.Builder builder) {
+        addFootprint(builder, TermType.Noun, this.nounMap);
+        addFootprint(builder, TermType.Adjective, this.adjectiveMap);
+        addFootprint(builder, TermType.Article, this.articleMap);
+        if (this.nounMapByPluralAlias != null) {
+            addFootprint(builder, TermType.Noun, this.nounMapByPluralAlias);
+        }
+    }
+
+    private static void addFootprint(Footprint.Builder builder, TermType type, GrammaticalTermMap<?> map) {
+        // The base of an overlay belongs to another dictionary
+        GrammaticalTermMap<?> own = map instanceof OverlayGrammaticalTermMap
+                ? ((OverlayGrammaticalTermMap<?>)map).getOverrides() : map;
+        for (Map.Entry<String, ? extends GrammaticalTerm> e : own.entrySet()) {
+            builder.addTerm(type, sizeOfTerm(builder, e.getKey(), e.getValue()));
+        }
+    }
+
+    /**
+     * @return the bytes of the entry for the term in a term map, and of the term if it wasn't already counted
+     */
+    private static long sizeOfTerm(Footprint.Builder builder, String name, GrammaticalTerm term) {
+        long result = Footprint.MAP_ENTRY + builder.sizeOf(name);
+        if (!builder.firstSeen(term)) {
+            return result;
+        }
+        Map<?, String> values;
+        if (term instanceof Noun) {
+            Noun noun = (Noun)term;
+            result += builder.sizeOf(noun.getEntityName()) + builder.sizeOf(noun.getPluralAlias()) + builder.sizeOf(noun.getAccess());
+            values = noun.getAllDefinedValues();
+        } else {
+            values = ((NounModifier)term).getAllValues();
+        }
+        result += Footprint.OBJECT * 3 + builder.sizeOf(term.getName());
+        for (String value : values.values()) {
+            result += Footprint.MAP_ENTRY + builder.sizeOf(value);
+        }
+        return result;
+    }
+
     private void forAllTerms (TermType type, BiConsumer<String, GrammaticalTerm> f) {
         switch (type) {
         case Noun:
@@ -322,6 +386,96 @@ public class LanguageDictionary implements Serializable {
         return obj.toString();
     }
 
+    /**
+     * Generate the surface of the given form from a base value, as {@link LanguageDeclension#generateSurfaceFromBase(String, NounForm)}
+     * does, but remember the result for declensions that {@link LanguageDeclension#hasGeneratedNounSurfaces() generate surfaces}.
+     * @param base the base/lemma value of the noun
+     * @param form the form to render
+     * @return the generated surface, or {@code null} if the declension doesn't generate surfaces
+     */
+    public String generateSurfaceFromBase(String base, NounForm form) {
+        Cache<SurfaceKey, String> cache = base != null && form != null ? getGeneratedSurfaces() : null;
+        if (cache == null) {
+            return getDeclension().generateSurfaceFromBase(base, form);
+        }
+        return cache.get(new SurfaceKey(base, null, form), k -> getDeclension().generateSurfaceFromBase(base, form));
+    }
+
+    /**
+     * Generate the surface of the given form from a noun, as {@link LanguageDeclension#generateSurfaceFromTerm(Noun, NounForm)}
+     * does, but remember the result for declensions that {@link LanguageDeclension#hasGeneratedNounSurfaces() generate surfaces}.
+     * The noun is remembered by its name and defined values, not the instance, as renamed nouns may share the name,
+     * but not the values, of a noun in this dictionary, and shouldn't be held past their use.
+     * @param noun the noun to render
+     * @param form the form to render
+     * @return the generated surface, or {@code null} if the declension doesn't generate surfaces
+     */
+    public String generateSurfaceFromTerm(Noun noun, NounForm form) {
+        Cache<SurfaceKey, String> cache = noun != null && form != null ? getGeneratedSurfaces() : null;
+        if (cache == null) {
+            return getDeclension().generateSurfaceFromTerm(noun, form);
+        }
+        SurfaceKey key = new SurfaceKey(noun.getName(), noun.getAllDefinedValues(), form);
+        String result = cache.getIfPresent(key);
+        if (result == null) {
+            result = getDeclension().generateSurfaceFromTerm(noun, form);
+            if (result != null) {
+                // Copy the values, as the noun's map is a view that may still change
+                cache.put(new SurfaceKey(key.source, key.values == null ? null : Map.copyOf(key.values), form), result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the memo of generated surfaces, or {@code null} if surfaces aren't generated for this language
+     */
+    private Cache<SurfaceKey, String> getGeneratedSurfaces() {
+        Cache<SurfaceKey, String> result = this.generatedSurfaces;
+        if (result == null && GENERATED_SURFACES_MAX_SIZE > 0 && getDeclension().hasGeneratedNounSurfaces()) {
+            synchronized (this) {
+                result = this.generatedSurfaces;
+                if (result == null) {
+                    result = Caffeine.newBuilder().maximumSize(GENERATED_SURFACES_MAX_SIZE).build();
+                    this.generatedSurfaces = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Key for the generated surfaces.  The source is either the base String, with no values, or the name of the Noun
+     * with its defined values, so that no Noun is held by the memo.
+     */
+    private static final class SurfaceKey {
+        private final String source;
+        private final Map<? extends NounForm, String> values;
+        private final NounForm form;
+        private final int hash;
+
+        SurfaceKey(String source, Map<? extends NounForm, String> values, NounForm form) {
+            this.source = source;
+            this.values = values;
+            this.form = form;
+            this.hash = Objects.hash(source, values, form);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof SurfaceKey)) return false;
+            SurfaceKey other = (SurfaceKey)obj;
+            return this.hash == other.hash && Objects.equals(this.source, other.source)
+                    && Objects.equals(this.values, other.values) && this.form.equals(other.form);
+        }
+    }
+
     private RenamingProvider getRenamingProvider() {
         return RenamingProviderFactory.get().getProvider();
     }
@@ -462,6 +616,36 @@ public class LanguageDictionary implements Serializable {
                 this.nounVersionOverrides = makeNounVersionOverrideMap();
             }
             this.nounVersionOverrides.putAll(otherDictionary.nounVersionOverrides);
+            this.versionedNouns = null;
+        }
+    }
+
+    /**
+     * Use the terms of the parent dictionary without copying them, instead of {@link #putAll(LanguageDictionary)},
+     * for a dictionary that overrides only a few of them.  The terms put into this dictionary afterwards are kept
+     * apart from the parent's, so the memory of this dictionary grows with the overrides only.
+     * @param parent the skinny dictionary of the same language to override
+     * @see OverlayGrammaticalTermMap
+     */
+    public void overlay(LanguageDictionary parent) {
+        if (parent.getLanguage() != this.getLanguage()) {
+            throw new IllegalArgumentException("Language mismatch: " + this.getLanguage() + " != " + parent.getLanguage());
+        }
+        if (!parent.isSkinny) {
+            throw new IllegalArgumentException("Only a skinny dictionary can be overlaid");
+        }
+        nounMap = new OverlayGrammaticalTermMap<>(parent.nounMap);
+        nounMapByPluralAlias = new OverlayGrammaticalTermMap<>(parent.nounMapByPluralAlias);
+        adjectiveMap = new OverlayGrammaticalTermMap<>(parent.adjectiveMap);
+        articleMap = new OverlayGrammaticalTermMap<>(parent.articleMap);
+        // These are references to the nouns, and are changed by createNoun
+        nounsByEntityType.putAll(parent.nounsByEntityType);
+        if (parent.nounVersionOverrides != null) {
+            if (this.nounVersionOverrides == null) {
+                this.nounVersionOverrides = makeNounVersionOverrideMap();
+            }
+            this.nounVersionOverrides.putAll(parent.nounVersionOverrides);
+            this.versionedNouns = null;
         }
     }
 
@@ -711,21 +895,37 @@ public class LanguageDictionary implements Serializable {
         this.isSkinny = true;
     }
 
+    /**
+     * @return whether some nouns are overridden by label version, in which case the terms that a label uses
+     * depend on {@link RenamingProvider#getLabelVersion()} of the current request
+     */
+    public boolean hasNounVersionOverrides() {
+        return this.nounVersionOverrides != null && !this.nounVersionOverrides.isEmpty();
+    }
+
     public Noun getNounOverride(Noun n) {
         if (n == null) return null;
         if (this.nounVersionOverrides == null) return n;
-        SortedSet<NounVersionOverride> overrides = this.nounVersionOverrides.get(n);
-        if (overrides == null) return n;
+        VersionedNoun versioned = getVersionedNouns().get(n);
+        if (versioned == null) return n;
 
         RenamingProvider renamingProvider = getRenamingProvider();
-        double labelVersion = renamingProvider.getLabelVersion();
-        for (NounVersionOverride nvo : overrides) {
-            if (labelVersion >= nvo.getAtLeast()) {
-                return nvo.getNoun();
+        return versioned.get(renamingProvider.getLabelVersion(), n);
+    }
+
+    private Map<Noun, VersionedNoun> getVersionedNouns() {
+        Map<Noun, VersionedNoun> result = this.versionedNouns;
+        if (result == null) {
+            // Identity, like nounVersionOverrides.  Never changed after it's published.
+            result = new IdentityHashMap<>();
+            for (Map.Entry<Noun, Collection<NounVersionOverride>> entry : this.nounVersionOverrides.asMap().entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    result.put(entry.getKey(), new VersionedNoun(entry.getValue()));
+                }
             }
+            this.versionedNouns = result;
         }
-
-        return n;
+        return result;
     }
 
     private static class TreeSetSupplier<V> implements Supplier<SortedSet<V>>, Serializable {
@@ -751,6 +951,7 @@ public class LanguageDictionary implements Serializable {
             throw new IllegalArgumentException(
                     "Noun " + n + " in language " + this.getLanguage() + " has duplicate versions for " + version);
         }
+        this.versionedNouns = null;
     }
 
     /**
@@ -833,4 +1034,38 @@ public class LanguageDictionary implements Serializable {
         }
     }
 
+    /**
+     * The overrides of a noun as parallel arrays sorted by ascending version, so that the override for a label
+     * version can be found with a binary search
+     */
+    static final class VersionedNoun {
+        private final double[] atLeast;
+        private final Noun[] nouns;
+
+        VersionedNoun(Collection<NounVersionOverride> overrides) {
+            // The overrides are sorted newest first
+            int size = overrides.size();
+            this.atLeast = new double[size];
+            this.nouns = new Noun[size];
+            int i = size;
+            for (NounVersionOverride nvo : overrides) {
+                i--;
+                this.atLeast[i] = nvo.getAtLeast();
+                this.nouns[i] = nvo.getNoun();
+            }
+        }
+
+        /**
+         * @return the override with the newest version that is at most labelVersion, or the noun if there isn't one
+         * @param labelVersion the label version of the request
+         * @param noun the noun being overridden
+         */
+        Noun get(double labelVersion, Noun noun) {
+            if (!(labelVersion >= this.atLeast[0])) return noun;  // Also handles NaN
+            int index = Arrays.binarySearch(this.atLeast, labelVersion);
+            // The search orders -0.0 before 0.0, unlike >=, so -0.0 can land before the first override
+            return this.nouns[index >= 0 ? index : Math.max(-index - 2, 0)];
+        }
+    }
+
 }
@@ -25,7 +25,6 @@ import java.sql.SQLException;
 import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import com.force.i18n.commons.text.TextUtil;
 
@@ -238,6 +237,7 @@ public abstract class Noun extends GrammaticalTerm implements Cloneable {
     public Noun clone() {
         try {
             Noun n = (Noun)super.clone();
+            n.clearJsonEntry();
             return n;
         }
 ///CLOVER:OFF
@@ -380,8 +380,12 @@ public abstract class Noun extends GrammaticalTerm implements Cloneable {
            appendable.append("\"c\":\"").append(getClassifier()).append("\",");
         }
         appendable.append("\"v\":{");
-        Map<? extends NounForm,String> allValues = getAllDefinedValues();
-        appendable.append(new TreeMap<>(allValues).entrySet().stream().map(e->"\""+e.getKey().getKey()+"\":\""+TextUtil.escapeForJsonString(e.getValue())+"\"").collect(Collectors.joining(",")));
+        boolean first = true;
+        for (Map.Entry<? extends NounForm, String> e : new TreeMap<>(getAllDefinedValues()).entrySet()) {
+            if (!first) appendable.append(',');
+            first = false;
+            appendable.append('\"').append(e.getKey().getKey()).append("\":\"").append(TextUtil.escapeForJsonString(e.getValue())).append('\"');
+        }
         appendable.append("}}");
     }
 
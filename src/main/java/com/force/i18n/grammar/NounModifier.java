@@ -21,7 +21,6 @@ import java.io.IOException;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
-import java.util.stream.Collectors;
 
 import com.force.i18n.commons.text.TextUtil;
 
@@ -104,7 +103,12 @@ public abstract class NounModifier extends GrammaticalTerm {
             appendable.append("\"s\":\"").append(getStartsWith().getDbValue()).append("\",");
         }
         appendable.append("\"v\":{");
-        appendable.append(new TreeMap<>(getAllValues()).entrySet().stream().map(e->"\""+e.getKey().getKey()+"\":\""+TextUtil.escapeForJsonString(e.getValue())+"\"").collect(Collectors.joining(",")));
+        boolean first = true;
+        for (Map.Entry<? extends ModifierForm, String> e : new TreeMap<>(getAllValues()).entrySet()) {
+            if (!first) appendable.append(',');
+            first = false;
+            appendable.append('\"').append(e.getKey().getKey()).append("\":\"").append(TextUtil.escapeForJsonString(e.getValue())).append('\"');
+        }
         appendable.append("}}");
     }
 }
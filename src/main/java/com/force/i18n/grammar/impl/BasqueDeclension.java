@@ -78,9 +78,45 @@ import com.force.i18n.grammar.NounForm;
  * </ul>
  */
 public class BasqueDeclension extends AbstractLanguageDeclension {
+    private static final int CASE_COUNT = LanguageCase.values().length;
+    private static final int ARTICLE_COUNT = LanguageArticle.values().length;
+
+    // Approximate noun form for every (number, case, article), indexed by ordinal.  Resolved once here so that
+    // rendering neither re-probes the exact forms nor allocates a new dynamic form per call.
+    private final NounForm[] approximateNounForms;
 
     public BasqueDeclension(HumanLanguage language) {
         super(language);
+        this.approximateNounForms = buildApproximateNounForms();
+    }
+
+    private static NounForm[] buildApproximateNounForms() {
+        NounForm[] result = new NounForm[LanguageNumber.values().length * CASE_COUNT * ARTICLE_COUNT];
+        for (LanguageNumber number : LanguageNumber.values()) {
+            for (LanguageCase kase : LanguageCase.values()) {
+                for (LanguageArticle article : LanguageArticle.values()) {
+                    // Basque plural always uses definite morphology; normalize article for plural
+                    LanguageArticle art = number.isPlural() ? LanguageArticle.DEFINITE : article;
+                    NounForm exact = resolveExactNounForm(number, kase, art);
+                    // If the exact form preserves the requested attributes, use it (allows dictionary overrides).
+                    // Otherwise, use a dynamic form to preserve requested case/number/article for render-time suffixing
+                    NounForm form = exact.getNumber() == number && exact.getCase() == kase && exact.getArticle() == art
+                            ? exact : new BasqueDynamicNounForm(number, kase, art);
+                    result[approximateIndex(number, kase, article)] = form;
+                }
+            }
+        }
+        // Requests that normalize to the same attributes share one dynamic form instance
+        for (int i = 0; i < result.length; i++) {
+            if (result[i] instanceof BasqueDynamicNounForm) {
+                result[i] = result[approximateIndex(result[i].getNumber(), result[i].getCase(), result[i].getArticle())];
+            }
+        }
+        return result;
+    }
+
+    private static int approximateIndex(LanguageNumber number, LanguageCase kase, LanguageArticle article) {
+        return (number.ordinal() * CASE_COUNT + kase.ordinal()) * ARTICLE_COUNT + article.ordinal();
     }
 
     /**
@@ -455,7 +491,8 @@ public class BasqueDeclension extends AbstractLanguageDeclension {
      *       intentionally not overridden to avoid accidental use in enum-keyed maps.</li>
      *   <li><code>getKey()</code> follows the same <code>number:case:article</code> pattern for
      *       consistency/debugging, but should not be used for dictionary indexing.</li>
-     *   <li>Transient: created on demand to flow attributes to the render stage; not persisted.</li>
+     *   <li>Transient: created once per (number, case, article) when the declension is constructed and shared
+     *       by every render that requests those attributes; not persisted.</li>
      * </ul>
      * </p>
      */
@@ -618,6 +655,11 @@ public class BasqueDeclension extends AbstractLanguageDeclension {
     @Override
     public boolean shouldApproximateNounFormsAtParseTime() { return true; }
 
+    @Override
+    public boolean hasGeneratedNounSurfaces() {
+        return true;
+    }
+
     @Override
     public String generateSurfaceFromBase(String base, NounForm form) {
         return renderSurface(base, form.getCase(), form.getNumber(), form.getArticle());
@@ -670,19 +712,8 @@ public class BasqueDeclension extends AbstractLanguageDeclension {
         LanguageCase kase = (languageCase == null) ? LanguageCase.NOMINATIVE : languageCase;
         LanguageArticle art = (article == null) ? getDefaultArticle() : article;
 
-        // Basque plural always uses definite morphology; normalize article for plural
-        if (num.isPlural()) {
-            art = LanguageArticle.DEFINITE;
-        }
-
-        // Try exact first
-        NounForm exact = getExactNounForm(num, kase, possessive, art);
-        // If the exact form preserves the requested attributes, use it (allows dictionary overrides)
-        if (exact != null && exact.getNumber() == num && exact.getCase() == kase && exact.getArticle() == art) {
-            return exact;
-        }
-        // Otherwise, fall through to dynamic to preserve requested case/number/article for render-time suffixing
-        return new BasqueDynamicNounForm(num, kase, art);
+        // Possessive is not part of Basque noun forms, so the precomputed table covers every request
+        return this.approximateNounForms[approximateIndex(num, kase, art)];
     }
 
     @Override
@@ -703,7 +734,10 @@ public class BasqueDeclension extends AbstractLanguageDeclension {
         LanguageNumber num = (number == null) ? LanguageNumber.SINGULAR : number;
         LanguageCase kase = (languageCase == null) ? LanguageCase.NOMINATIVE : languageCase;
         LanguageArticle art = (article == null) ? LanguageArticle.ZERO : article;
+        return resolveExactNounForm(num, kase, art);
+    }
 
+    private static BasqueNounForm resolveExactNounForm(LanguageNumber num, LanguageCase kase, LanguageArticle art) {
         NounForms forms = NOUN_FORMS.get(kase);
         if (num.isPlural()) {
             return forms != null && forms.pluralDef != null ? forms.pluralDef : BasqueNounForm.BASE;
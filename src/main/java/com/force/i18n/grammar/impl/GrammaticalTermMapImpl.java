@@ -94,7 +94,7 @@ public class GrammaticalTermMapImpl<T extends GrammaticalTerm> implements Gramma
                     } else {
                         first = false;
                     }
-                    writeJsonTerm(out, renamingProvider, term, dictionary.getLanguage());
+                    writeJsonTerm(out, renamingProvider, term, dictionary.getLanguage(), isSkinny);
                     wrote.add(name);
                 }
             }
@@ -113,18 +113,31 @@ public class GrammaticalTermMapImpl<T extends GrammaticalTerm> implements Gramma
             } else {
                 first = false;
             }
-            writeJsonTerm(out, renamingProvider, term, lang);
+            writeJsonTerm(out, renamingProvider, term, lang, isSkinny);
         }
     }
 
-    private void writeJsonTerm(Appendable out, RenamingProvider renamingProvider, GrammaticalTerm term,
-            HumanLanguage lang) throws IOException {
+    /**
+     * @param useKeptJson whether the term is skinny, so its json can be kept
+     */
+    static void writeJsonTerm(Appendable out, RenamingProvider renamingProvider, GrammaticalTerm term,
+            HumanLanguage lang, boolean useKeptJson) throws IOException {
         if (renamingProvider != null && term instanceof Noun && renamingProvider.useRenamedNouns()) {
             Noun renamedNoun = renamingProvider.getRenamedNoun(lang, ((Noun)term).getName());
-            if (renamedNoun != null) term = renamedNoun;
+            if (renamedNoun != null) {
+                // Renamed nouns can change at any time
+                out.append('\"').append(renamedNoun.getName().toLowerCase()).append("\":");
+                renamedNoun.toJson(out);
+                return;
+            }
+        }
+        if (useKeptJson) {
+            // The terms can't change anymore, so keep the json
+            out.append(term.getJsonEntry());
+        } else {
+            out.append('\"').append(term.getName().toLowerCase()).append("\":");
+            term.toJson(out);
         }
-        out.append('\"').append(term.getName().toLowerCase()).append("\":");
-        term.toJson(out);
     }
 
     @Override
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026, Salesforce, Inc.
+ * SPDX-License-Identifier: Apache-2
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.force.i18n.grammar.impl;
+
+import java.io.IOException;
+import java.util.*;
+
+import com.force.i18n.HumanLanguage;
+import com.force.i18n.grammar.*;
+import com.google.common.collect.Sets;
+
+/**
+ * A GrammaticalTermMap that holds only the terms put into it, on top of the terms of a skinny map that it shares
+ * with other dictionaries, such as the dictionary of the label set that a set of overriding labels is based on.
+ * Lookups check the overrides first; the base is never changed.
+ * <p>
+ * Iterating over the terms creates a merged copy, so prefer {@link #get(String)} and {@link #containsKey(String)}.
+ *
+ * @see LanguageDictionary#overlay(LanguageDictionary)
+ */
+public class OverlayGrammaticalTermMap<T extends GrammaticalTerm> implements GrammaticalTermMap<T> {
+    private static final long serialVersionUID = 1L;
+
+    private final GrammaticalTermMap<T> base;
+    private final GrammaticalTermMap<T> overrides;
+
+    /**
+     * @param base the shared terms, which must be skinny
+     */
+    public OverlayGrammaticalTermMap(GrammaticalTermMap<T> base) {
+        this(base, new GrammaticalTermMapImpl<>());
+    }
+
+    private OverlayGrammaticalTermMap(GrammaticalTermMap<T> base, GrammaticalTermMap<T> overrides) {
+        if (!base.isSkinny()) throw new IllegalArgumentException("The base of an overlay must not change");
+        this.base = base;
+        this.overrides = overrides;
+    }
+
+    /**
+     * @return the shared terms
+     */
+    public GrammaticalTermMap<T> getBase() {
+        return this.base;
+    }
+
+    /**
+     * @return the terms put into this map, which hide the base's terms with the same name
+     */
+    public GrammaticalTermMap<T> getOverrides() {
+        return this.overrides;
+    }
+
+    @Override
+    public boolean isSkinny() {
+        return this.overrides.isSkinny();
+    }
+
+    @Override
+    public void validate() {
+        // The base was validated when it was made skinny
+        this.overrides.validate();
+    }
+
+    @Override
+    public GrammaticalTermMap<T> makeSkinny() {
+        return new OverlayGrammaticalTermMap<>(this.base, this.overrides.makeSkinny());
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return Collections.unmodifiableSet(Sets.union(this.overrides.keySet(), this.base.keySet()));
+    }
+
+    @Override
+    public boolean containsKey(String name) {
+        return this.overrides.containsKey(name) || this.base.containsKey(name);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.overrides.isEmpty() && this.base.isEmpty();
+    }
+
+    @Override
+    public T get(String name) {
+        T result = this.overrides.get(name);
+        return result != null ? result : this.base.get(name);
+    }
+
+    @Override
+    public void put(String k, T v) {
+        this.overrides.put(k, v);
+    }
+
+    @Override
+    public void putAll(GrammaticalTermMap<T> other) {
+        for (Map.Entry<String, T> e : other.entrySet()) {
+            put(e.getKey(), e.getValue());
+        }
+    }
+
+    @Override
+    public Collection<T> values() {
+        return Collections.unmodifiableCollection(merged().values());
+    }
+
+    @Override
+    public Set<Map.Entry<String, T>> entrySet() {
+        return Collections.unmodifiableSet(merged().entrySet());
+    }
+
+    private Map<String, T> merged() {
+        Map<String, T> result = new HashMap<>();
+        for (Map.Entry<String, T> e : this.base.entrySet()) {
+            result.put(e.getKey(), e.getValue());
+        }
+        for (Map.Entry<String, T> e : this.overrides.entrySet()) {
+            result.put(e.getKey(), e.getValue());
+        }
+        return result;
+    }
+
+    @Override
+    public void writeJson(Appendable out, RenamingProvider renamingProvider, LanguageDictionary dictionary,
+            Collection<String> termsToInclude) throws IOException {
+        HumanLanguage lang = dictionary.getLanguage();
+        boolean first = true;
+        out.append('{');
+        if (termsToInclude != null) {
+            Set<String> wrote = new HashSet<>();
+            for (String name : termsToInclude) {
+                T term = this.overrides.get(name);
+                boolean isOverride = term != null;
+                if (!isOverride) term = this.base.get(name);
+                if (term != null) {
+                    if (!first) out.append(',');
+                    first = false;
+                    GrammaticalTerm toWrite = term instanceof Noun ? dictionary.getNounOverride((Noun)term) : term;
+                    GrammaticalTermMapImpl.writeJsonTerm(out, renamingProvider, toWrite, lang,
+                            isOverride ? this.overrides.isSkinny() : true);
+                    wrote.add(name);
+                }
+            }
+            termsToInclude.removeAll(wrote);
+        } else {
+            for (Map.Entry<String, T> e : this.base.entrySet()) {
+                if (!this.overrides.containsKey(e.getKey())) {
+                    if (!first) out.append(',');
+                    first = false;
+                    GrammaticalTermMapImpl.writeJsonTerm(out, renamingProvider, e.getValue(), lang, true);
+                }
+            }
+            for (T term : this.overrides.values()) {
+                if (!first) out.append(',');
+                first = false;
+                GrammaticalTermMapImpl.writeJsonTerm(out, renamingProvider, term, lang, this.overrides.isSkinny());
+            }
+        }
+        out.append('}');
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) return true;
+        if (!(obj instanceof OverlayGrammaticalTermMap)) return false;
+        OverlayGrammaticalTermMap<?> other = (OverlayGrammaticalTermMap<?>)obj;
+        return this.base.equals(other.base) && this.overrides.equals(other.overrides);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.base.hashCode() * 31 + this.overrides.hashCode();
+    }
+}
@@ -20,16 +20,27 @@ package com.force.i18n.grammar.offline;
 import java.io.*;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.security.*;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.force.i18n.*;
 import com.force.i18n.LanguageLabelSetDescriptor.GrammaticalLabelSetDescriptor;
 import com.force.i18n.grammar.*;
 import com.force.i18n.grammar.parser.GrammaticalLabelSetLoader;
+import com.google.common.base.Throwables;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Simple file generator to convert language dependent files for grammaticus.js.
@@ -48,10 +59,17 @@ public class JavaScriptLabelsGenerator {
     protected static final String DEFAULT_NAMES_XML = "names.xml";
     protected static final HumanLanguage BASE_LANG = LanguageProviderFactory.get().getBaseLanguage();
 
+    protected static final String MANIFEST_FILE_NAME = "grammaticus-js.manifest";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     protected final GrammaticalLabelSetLoader loader;
     protected final Path sourceRootDir;
     protected final String labelFileName;
 
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean incremental = false;
+    private boolean hashedFileNames = false;
+
     public JavaScriptLabelsGenerator(File rootDirectory) throws MalformedURLException, URISyntaxException  {
         this(rootDirectory, DEFAULT_LABELS_XML, DEFAULT_NAMES_XML);
     }
@@ -63,11 +81,56 @@ public class JavaScriptLabelsGenerator {
     }
 
     public JavaScriptLabelsGenerator(GrammaticalLabelSetDescriptor baseDesc) throws URISyntaxException {
-        this.loader = new GrammaticalLabelSetLoader(baseDesc);
+        this(baseDesc, null);
+    }
+
+    /**
+     * @param baseDesc the descriptor of the labels to generate
+     * @param parent the provider of the labels that the labels of {@code baseDesc} override, or null
+     * @throws URISyntaxException if the root directory of {@code baseDesc} isn't a valid path
+     */
+    public JavaScriptLabelsGenerator(GrammaticalLabelSetDescriptor baseDesc, GrammaticalLabelSetProvider parent) throws URISyntaxException {
+        this.loader = new GrammaticalLabelSetLoader(baseDesc, parent);
         this.labelFileName = Paths.get(this.loader.getBaseDesc().getRootFile().toURI()).getFileName().toString();
         this.sourceRootDir = Paths.get(this.loader.getBaseDesc().getRootDir().toURI());
     }
 
+    /**
+     * @param parallelism the number of languages to generate at the same time.  Defaults to the number of processors.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * @param incremental if true, languages whose source files haven't changed since the last run into the same
+     * output directory are skipped.  The content hashes of the sources are kept in {@value #MANIFEST_FILE_NAME}.
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public boolean isIncremental() {
+        return this.incremental;
+    }
+
+    /**
+     * @param hashedFileNames if true, the hash of the contents is added to the file names (e.g. 'en_GB.0123456789abcdef.js')
+     * so that they can be cached forever.  The current file name of each language is kept in {@value #MANIFEST_FILE_NAME}.
+     */
+    public void setHashedFileNames(boolean hashedFileNames) {
+        this.hashedFileNames = hashedFileNames;
+    }
+
+    public boolean isHashedFileNames() {
+        return this.hashedFileNames;
+    }
+
 
     /**
      * Utility method to generate the target language file in JavaScript.
@@ -85,22 +148,37 @@ public class JavaScriptLabelsGenerator {
      * @return true if success; false otherwise.
      */
     protected boolean write(HumanLanguage language, File outDir, boolean shouldGenerateComment, boolean shouldGenerateAllNames) {
+        return writeLanguage(language, outDir, shouldGenerateComment, shouldGenerateAllNames) != null;
+    }
+
+    /**
+     * Same as {@link #write(HumanLanguage, File, boolean, boolean)}, but returns the name of the generated file, which
+     * includes the hash of its contents if {@link #isHashedFileNames()}.  The file is written to a temporary file and
+     * moved into place, so readers never see a partial file.
+     *
+     * @param language to specify which language file to generate
+     * @param outDir is the target directory to generate [language].js file
+     * @param shouldGenerateComment to specify whether generating comment header texts in [language].js file
+     * @param shouldGenerateAllNames to specify whether generating names defined in the dictionary file
+     * @return the name of the generated file if success; null otherwise.
+     */
+    protected String writeLanguage(HumanLanguage language, File outDir, boolean shouldGenerateComment, boolean shouldGenerateAllNames) {
         // ignore empty directory
-        if (!isValid(this.sourceRootDir, language)) return false;
+        if (!isValid(this.sourceRootDir, language)) return null;
 
         // handle only languages that LanguageProviderFactory knows. "en.json" will be skipped because of this.
         // However, if you override/implement your own LangaugeProvider and HumanLanguage, you can provide any translations.
         GrammaticalLabelSet labelSet = this.loader.getSet(language);
+        Path tempFile = null;
         try {
-            // if the target language is base language, strip off the country/variant part. if base language is "en_US",
-            // renames to "en" (means that the file name becomes 'en.js'
-            Locale loc = language != BASE_LANG ? language.getLocale() : new Locale(language.getLocale().getLanguage());
-            String filename = loc.toString() + ".js";
-
-            log("processing language: " + language.getLocaleString() + " (as filename: " + filename + ")");
+            String baseName = getBaseName(language);
+            log("processing language: " + language.getLocaleString() + " (as filename: " + baseName + ".js)");
 
             // assume first existing names.xml (from the bottom of the list) to be target folder
-            try (Writer out = new FileWriter(new File(outDir, filename))) {
+            tempFile = Files.createTempFile(outDir.toPath(), baseName, ".tmp");
+            MessageDigest digest = newDigest();
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                    new DigestOutputStream(Files.newOutputStream(tempFile), digest), StandardCharsets.UTF_8), BUFFER_SIZE)) {
                 if (shouldGenerateComment) {
                     out.append("/* Grammaticus v").append(VersionInfo.VERSION).append("\n")
                        .append(" * ").append(COPYRIGHT_TEXT).append("\n")
@@ -122,12 +200,115 @@ public class JavaScriptLabelsGenerator {
                 labelSet.getDictionary().getDeclension().writeJsonOverrides(out, "baseObject");
                 out.append("};");
             }
+
+            String filename = this.hashedFileNames
+                    ? baseName + "." + HashCode.fromBytes(digest.digest()).toString().substring(0, 16) + ".js"
+                    : baseName + ".js";
+            Files.move(tempFile, outDir.toPath().resolve(filename), StandardCopyOption.REPLACE_EXISTING);
+            return filename;
         } catch (IOException e) {
-            error("ERROR: unknown exception while processing language: " + language);
-            e.printStackTrace();
-            return false;
+            error("ERROR: unknown exception while processing language: " + language, e);
+            return null;
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // Only left behind if the move failed
+                }
+            }
+        }
+    }
+
+    /**
+     * If the target language is base language, strip off the country/variant part. if base language is "en_US",
+     * renames to "en" (means that the file name becomes 'en.js'
+     * @param language the language to generate
+     * @return the name of the file for the language, without the extension
+     */
+    protected String getBaseName(HumanLanguage language) {
+        Locale loc = language != BASE_LANG ? language.getLocale() : new Locale(language.getLocale().getLanguage());
+        return loc.toString();
+    }
+
+    /**
+     * Returns the hash of everything that the generated file for the language depends on: the files in the source
+     * directories of the language, the languages it falls back to and the base language, of this generator and of
+     * its parent loaders, along with the options and version of the generator.
+     *
+     * @param language the language to generate
+     * @param shouldGenerateComment whether comments are generated
+     * @param shouldGenerateAllNames whether all names are generated
+     * @return the hex sha-256 of the sources, or null if the sources of the parent can't be read from the file system
+     * @throws IOException if the source files can't be read
+     */
+    protected String getSourceHash(HumanLanguage language, boolean shouldGenerateComment, boolean shouldGenerateAllNames) throws IOException {
+        Hasher hasher = Hashing.sha256().newHasher()
+                .putString(VersionInfo.VERSION, StandardCharsets.UTF_8)
+                .putBoolean(shouldGenerateComment)
+                .putBoolean(shouldGenerateAllNames)
+                .putBoolean(this.hashedFileNames)
+                .putString(this.labelFileName, StandardCharsets.UTF_8);
+        Set<Path> dirs = new LinkedHashSet<>();
+        for (HumanLanguage lang = language; lang != null && dirs.add(resolve(this.sourceRootDir, lang).getParent()); lang = lang.getFallbackLanguage()) {
+            // collecting the fallback chain
+        }
+        dirs.add(resolve(this.sourceRootDir, BASE_LANG).getParent());
+        putSourceFiles(hasher, this.sourceRootDir, dirs);
+
+        // The parent loaders' labels are part of the output too
+        for (GrammaticalLabelSetProvider parent = this.loader.getParent(); parent != null; ) {
+            if (!(parent instanceof GrammaticalLabelSetLoader)) {
+                return null;
+            }
+            GrammaticalLabelSetDescriptor parentDesc = ((GrammaticalLabelSetLoader)parent).getBaseDesc();
+            try {
+                dirs = new LinkedHashSet<>();
+                for (HumanLanguage lang = language; lang != null; lang = lang.getFallbackLanguage()) {
+                    GrammaticalLabelSetDescriptor desc = lang == parentDesc.getLanguage() ? parentDesc : parentDesc.getForOtherLanguage(lang);
+                    List<URL> files = new ArrayList<>(Arrays.asList(desc.getRootFile(), desc.getDictionaryFile()));
+                    if (desc.hasOverridingFiles()) {
+                        files.addAll(desc.getOverridingFiles());
+                        files.addAll(desc.getOverridingDictionaryFiles());
+                    }
+                    for (URL file : files) {
+                        if (file == null) continue;
+                        if (!"file".equals(file.getProtocol())) {
+                            return null;
+                        }
+                        dirs.add(Paths.get(file.toURI()).getParent());
+                    }
+                }
+                putSourceFiles(hasher, Paths.get(parentDesc.getRootFile().toURI()).getParent(), dirs);
+            } catch (URISyntaxException e) {
+                throw new IOException("Unable to find the sources of " + parentDesc, e);
+            }
+            parent = ((GrammaticalLabelSetLoader)parent).getParent();
+        }
+        return hasher.hash().toString();
+    }
+
+    private static void putSourceFiles(Hasher hasher, Path rootDir, Set<Path> dirs) throws IOException {
+        for (Path dir : dirs) {
+            if (!Files.isDirectory(dir)) continue;
+            List<Path> files;
+            try (Stream<Path> list = Files.list(dir)) {
+                files = list.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                hasher.putString(rootDir.relativize(file).toString(), StandardCharsets.UTF_8);
+                hasher.putBytes(Files.readAllBytes(file));
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Required of every java platform
+            throw new IllegalStateException(e);
         }
-        return true;
     }
 
     /*
@@ -169,13 +350,79 @@ public class JavaScriptLabelsGenerator {
         // ensure base language (by default, en_US) gets loaded. this may not be required, but for just in case.
         this.loader.getSet(BASE_LANG);
 
+        Properties previous = this.incremental ? loadManifest(outputDir) : new Properties();
+        Map<String, String> manifest = new ConcurrentHashMap<>();
         AtomicInteger cnt = new AtomicInteger(0);
-        LanguageProviderFactory.get().getAll().parallelStream().filter(l -> isValid(sourceDir, l)).forEach(l -> {
-            this.write(l, outputDir, shouldGenerateComment, shouldGenerateAllNames);
-            cnt.incrementAndGet();
-        });
+        AtomicInteger skipped = new AtomicInteger(0);
+        ExecutorService executor = Executors.newFixedThreadPool(this.parallelism,
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("JavaScriptLabelsGenerator-%d").build());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (HumanLanguage l : LanguageProviderFactory.get().getAll()) {
+                if (!isValid(sourceDir, l)) continue;
+                futures.add(executor.submit(() -> {
+                    String baseName = getBaseName(l);
+                    String sourceHash = this.incremental ? getSourceHash(l, shouldGenerateComment, shouldGenerateAllNames) : null;
+                    String previousFile = previous.getProperty(baseName + ".file");
+                    if (sourceHash != null && sourceHash.equals(previous.getProperty(baseName + ".source"))
+                            && previousFile != null && new File(outputDir, previousFile).isFile()) {
+                        log("skipping unchanged language: " + l.getLocaleString());
+                        manifest.put(baseName + ".source", sourceHash);
+                        manifest.put(baseName + ".file", previousFile);
+                        skipped.incrementAndGet();
+                        return null;
+                    }
+                    String filename = this.writeLanguage(l, outputDir, shouldGenerateComment, shouldGenerateAllNames);
+                    if (filename != null) {
+                        if (sourceHash != null) manifest.put(baseName + ".source", sourceHash);
+                        manifest.put(baseName + ".file", filename);
+                        cnt.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while generating labels");
+        } catch (ExecutionException e) {
+            Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
 
-        log("Done. Generated " + cnt.toString() + " files.");
+        if (this.incremental || this.hashedFileNames) {
+            storeManifest(outputDir, manifest);
+        }
+        log("Done. Generated " + cnt.toString() + " files." + (skipped.get() > 0 ? " Skipped " + skipped + " unchanged files." : ""));
+    }
+
+    /**
+     * @return the manifest from the last run into the directory, or an empty one if there is none
+     * @param outputDir the directory the files are generated into
+     * @throws IOException if the manifest can't be read
+     */
+    protected Properties loadManifest(File outputDir) throws IOException {
+        Properties result = new Properties();
+        Path path = outputDir.toPath().resolve(MANIFEST_FILE_NAME);
+        if (Files.isRegularFile(path)) {
+            try (Reader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                result.load(in);
+            }
+        }
+        return result;
+    }
+
+    private void storeManifest(File outputDir, Map<String, String> manifest) throws IOException {
+        Properties props = new Properties();
+        props.putAll(manifest);
+        try (Writer out = Files.newBufferedWriter(outputDir.toPath().resolve(MANIFEST_FILE_NAME), StandardCharsets.UTF_8)) {
+            props.store(out, "Generated by Grammaticus. <language>.source is the hash of the sources, <language>.file the generated file");
+        }
     }
 
     protected void log(String msg) {
@@ -185,4 +432,8 @@ public class JavaScriptLabelsGenerator {
     protected void error(String msg) {
         logger.log(Level.SEVERE, msg);
     }
+
+    protected void error(String msg, Throwable t) {
+        logger.log(Level.SEVERE, msg, t);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2025, Salesforce, Inc.
+ * SPDX-License-Identifier: Apache-2
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.force.i18n.grammar.offline;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+import com.force.i18n.HumanLanguage;
+import com.force.i18n.grammar.*;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Serves the labels for a set of sections or keys, along with the terms they use, as prebuilt json for a
+ * client using grammaticus.js.  Bundles are built once, along with a gzip copy and a content hash that
+ * can be used as an ETag, and are kept in a bounded cache keyed by language, a fingerprint of the keys, the
+ * label version of the request, and the generation of the loaded label sets so that reloaded labels get new bundles.
+ * <p>
+ * The bundle is <code>{"labels":{...},"terms":{...}}</code> where labels is the output of
+ * {@link GrammaticalLabelSet#writeJson(OutputStream, Collection, Set)} and terms is the output of
+ * {@link LanguageDictionary#writeJsonTerms(Appendable, boolean, Collection)}.  The default (not renamed)
+ * nouns are always used, as a cached bundle can't depend on the renaming of the current request.
+ */
+public class LabelBundleService {
+    private final GrammaticalLabelSetProvider provider;
+    private final Cache<BundleKey, LabelBundle> cache;
+
+    /**
+     * @param provider the provider of the label sets
+     * @param maxBundles the maximum number of bundles to keep
+     */
+    public LabelBundleService(GrammaticalLabelSetProvider provider, long maxBundles) {
+        this.provider = provider;
+        this.cache = Caffeine.newBuilder().maximumSize(maxBundles).build();
+    }
+
+    /**
+     * @param language the language of the labels
+     * @param keysToInclude section names or section.key names to include, or null for every label
+     * @return the bundle for the keys
+     */
+    public LabelBundle getBundle(HumanLanguage language, Collection<String> keysToInclude) {
+        return getBundle(language, fingerprint(keysToInclude), keysToInclude);
+    }
+
+    /**
+     * Get the bundle when the caller already knows the fingerprint of the keys, such as for a page manifest
+     * that doesn't change.
+     * @param language the language of the labels
+     * @param fingerprint the value of {@link #fingerprint(Collection)} for the keys
+     * @param keysToInclude section names or section.key names to include, or null for every label
+     * @return the bundle for the keys
+     */
+    public LabelBundle getBundle(HumanLanguage language, String fingerprint, Collection<String> keysToInclude) {
+        GrammaticalLabelSet labelSet = this.provider.getSet(language);
+        BundleKey key = new BundleKey(language, fingerprint, RenamingProviderFactory.get().getProvider().getLabelVersion(),
+                getGeneration(labelSet));
+        return this.cache.get(key, k -> build(labelSet, keysToInclude));
+    }
+
+    /**
+     * Remove all the cached bundles, such as to free their memory
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * @param keysToInclude section names or section.key names, or null for every label
+     * @return a strong hash of the keys that doesn't depend on their order
+     */
+    public static String fingerprint(Collection<String> keysToInclude) {
+        if (keysToInclude == null) {
+            return "*";
+        }
+        Hasher hasher = Hashing.sha256().newHasher();
+        for (String key : new TreeSet<>(keysToInclude)) {
+            hasher.putString(key, StandardCharsets.UTF_8).putByte((byte)0);
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * @return the generations of the loaded sets that make up the label set, as a fallback set is made anew for each request
+     * @param labelSet the label set
+     */
+    private static List<Long> getGeneration(GrammaticalLabelSet labelSet) {
+        List<Long> result = new ArrayList<>(2);
+        GrammaticalLabelSet set = labelSet;
+        while (set instanceof GrammaticalLabelSet.GrammaticalLabelSetComposite) {
+            GrammaticalLabelSet.GrammaticalLabelSetComposite composite = (GrammaticalLabelSet.GrammaticalLabelSetComposite)set;
+            result.addAll(getGeneration(composite.getOverlay()));
+            set = composite.getFallback();
+        }
+        // Other implementations can only be told apart by their last modified time
+        result.add(set instanceof GrammaticalLabelSetImpl ? ((GrammaticalLabelSetImpl)set).getGeneration() : set.getLastModified());
+        return result;
+    }
+
+    /**
+     * @return a new bundle for the label set
+     * @param labelSet the label set containing the labels
+     * @param keysToInclude the keys to include
+     */
+    protected LabelBundle build(GrammaticalLabelSet labelSet, Collection<String> keysToInclude) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            bytes.write("{\"labels\":".getBytes(StandardCharsets.UTF_8));
+            Set<GrammaticalTerm> termsInUse = new HashSet<>();
+            labelSet.writeJson(bytes, keysToInclude, termsInUse);
+            Writer out = new OutputStreamWriter(bytes, StandardCharsets.UTF_8);
+            out.append(",\"terms\":");
+            labelSet.getDictionary().writeJsonTerms(out, false, termsInUse);
+            out.append("}");
+            out.flush();
+            return new LabelBundle(bytes.toByteArray());
+        } catch (IOException ex) {
+            // Writing to memory
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * The immutable json and gzipped json of a set of labels
+     */
+    public static final class LabelBundle {
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String hash;
+
+        LabelBundle(byte[] json) throws IOException {
+            this.json = json;
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 32);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(json);
+            }
+            this.gzip = compressed.toByteArray();
+            this.hash = Hashing.sha256().hashBytes(json).toString();
+        }
+
+        /**
+         * @return the UTF-8 json of the bundle
+         */
+        public byte[] getJson() {
+            return this.json.clone();
+        }
+
+        /**
+         * @return the gzipped UTF-8 json of the bundle
+         */
+        public byte[] getGzip() {
+            return this.gzip.clone();
+        }
+
+        /**
+         * Write the json to the stream without copying
+         * @param out the stream to write to
+         * @param gzipped whether to write the gzipped json
+         * @throws IOException if there's an error writing to the stream
+         */
+        public void writeTo(OutputStream out, boolean gzipped) throws IOException {
+            out.write(gzipped ? this.gzip : this.json);
+        }
+
+        /**
+         * @param gzipped whether the length of the gzipped json is wanted
+         * @return the length in bytes, for a Content-Length header
+         */
+        public int getLength(boolean gzipped) {
+            return gzipped ? this.gzip.length : this.json.length;
+        }
+
+        /**
+         * @return the hex sha-256 of the json
+         */
+        public String getHash() {
+            return this.hash;
+        }
+
+        /**
+         * @return the quoted hash, for use as a strong ETag
+         */
+        public String getETag() {
+            return "\"" + this.hash + "\"";
+        }
+    }
+
+    private static final class BundleKey {
+        private final HumanLanguage language;
+        private final String fingerprint;
+        private final double labelVersion;
+        private final List<Long> generation;
+
+        BundleKey(HumanLanguage language, String fingerprint, double labelVersion, List<Long> generation) {
+            this.language = language;
+            this.fingerprint = fingerprint;
+            this.labelVersion = labelVersion;
+            this.generation = generation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof BundleKey)) return false;
+            BundleKey other = (BundleKey)o;
+            return Double.compare(this.labelVersion, other.labelVersion) == 0 && this.generation.equals(other.generation)
+                    && this.language.equals(other.language) && this.fingerprint.equals(other.fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.language, this.fingerprint, this.labelVersion, this.generation);
+        }
+    }
+}
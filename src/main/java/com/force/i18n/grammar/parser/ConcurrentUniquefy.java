@@ -53,4 +53,11 @@ public class ConcurrentUniquefy<T> implements Serializable {
         assert result == null || result.equals(value) : "There's a flaw in the equals logic associated with " + value.getClass();
         return result == null ? value : result;
     }
+
+    /**
+     * @return the number of values in the pool
+     */
+    public int size() {
+        return this.pool.size();
+    }
 }
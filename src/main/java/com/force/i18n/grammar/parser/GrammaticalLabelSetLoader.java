@@ -18,20 +18,30 @@
 package com.force.i18n.grammar.parser;
 
 import java.io.IOException;
+import java.lang.management.*;
+import java.lang.ref.WeakReference;
 import java.net.URL;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.management.*;
+
 import com.force.i18n.*;
 import com.force.i18n.LanguageLabelSetDescriptor.GrammaticalLabelSetDescriptor;
+import com.force.i18n.commons.util.settings.IniFileUtil;
+import com.force.i18n.commons.util.settings.IniFileUtil.InternArena;
 import com.force.i18n.grammar.*;
 import com.force.i18n.grammar.impl.LanguageDeclensionFactory;
 import com.force.i18n.settings.*;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.guava.CaffeinatedGuava;
 import com.google.common.cache.*;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 
 /**
@@ -54,6 +64,16 @@ public class GrammaticalLabelSetLoader implements GrammaticalLabelSetProvider {
 
     private static final boolean USE_SHARED_KEYS_DEFAULT = true;  // You really want this, so it isn't an option
 
+    // Loads label sets in the background, on at most half of the processors, as parsing can take seconds
+    private static final ExecutorService REFRESH_EXECUTOR;
+    static {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("GrammaticalLabelSetLoader-refresh-%d").build());
+        executor.allowCoreThreadTimeOut(true);
+        REFRESH_EXECUTOR = executor;
+    }
+
     //@GuardedBy("itself") // this is passed as seed data to multiple threads and modifications need to be synchronized
     private final SharedKeyMap<String, SharedKeyMap<String, Object>> seedKeyMap;
 
@@ -71,6 +91,37 @@ public class GrammaticalLabelSetLoader implements GrammaticalLabelSetProvider {
     // used only if useTranslatedLanguage is ture. see #compute(GrammaticalLabelSetDescriptor) how it's used.
     private boolean skipParsingLabelForPlatform  = false;
 
+    // generate render-time noun surfaces while loading. see #loadLabels(GrammaticalLabelSetDescriptor)
+    private final boolean prefillGeneratedSurfaces;
+
+    // build the index from terms to labels while loading. see #loadLabels(GrammaticalLabelSetDescriptor)
+    private final boolean buildTermIndex;
+
+    // dedupe the strings of each load in its own table. see #getCacheLoader()
+    private final boolean internArena;
+
+    // share the sections that are the same as the fallback language's. see #loadLabels(GrammaticalLabelSetDescriptor)
+    private final boolean shareFallbackSections;
+
+    // keep only the terms of this loader's files on top of the parent's dictionary. see LanguageDictionary#overlay
+    private final boolean overlayParent;
+
+    // when each language was last used, if idle languages are evicted for heap pressure. see #evictIdleLanguages(Duration)
+    private final Map<GrammaticalLabelSetDescriptor, Long> lastUsed;
+    private final Duration evictIdleAfter;
+    private final HeapPressureListener heapPressureListener;
+
+    // reload every cached language, fallbacks first, when read this long after the last reload. see #refreshIfStale()
+    private final long refreshAfterNanos;
+    private volatile long refreshedAt;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    // how many times each language was asked for, to put the most used first in a warm-up profile
+    private final Map<HumanLanguage, LongAdder> languageUses = new ConcurrentHashMap<>();
+
+    // re-weigh fallback languages as the languages that depend on them are loaded and removed. see #isFallbackLanguage
+    private final boolean weighFallbacks;
+
     @Override
     public void init() {
         // do nothing
@@ -119,6 +170,62 @@ public class GrammaticalLabelSetLoader implements GrammaticalLabelSetProvider {
         }
     }
 
+    /**
+     * Reload cached label sets in the background, like {@link #resetMap(Collection, boolean)} without making the next
+     * {@link #getSet(HumanLanguage)} wait for the load.  The previous label sets are returned until the new ones are
+     * loaded.  The parent loader's label sets and fallback languages are reloaded first, so that the languages that
+     * depend on them are rebuilt from the new ones.
+     *
+     * @param languages
+     *            the languages to reload if they are cached. if {@code languages} is {@code null} or
+     *            {@code languages.isEmpty()} is {@code true}, reloads everything cached.
+     * @param refreshParent
+     *            if {@code true}, also refreshes the parent loader first, or resets the parent provider in the
+     *            background if it isn't a loader.
+     * @return a future that completes when every label set is reloaded, or completes exceptionally if one couldn't be
+     *            loaded, in which case its previous label set is kept.
+     */
+    public CompletableFuture<Void> refreshMap(Collection<? extends HumanLanguage> languages, boolean refreshParent) {
+        Executor executor = getRefreshExecutor();
+        CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
+        if (refreshParent && parentProvider != null) {
+            if (parentProvider instanceof GrammaticalLabelSetLoader) {
+                result = ((GrammaticalLabelSetLoader)parentProvider).refreshMap(languages, refreshParent);
+            } else {
+                result = CompletableFuture.runAsync(parentProvider::resetMap, executor);
+            }
+        }
+
+        Collection<GrammaticalLabelSetDescriptor> descs;
+        if (languages == null || languages.isEmpty()) {
+            descs = new ArrayList<>(cache.asMap().keySet());
+        } else {
+            descs = new ArrayList<>();
+            for (HumanLanguage lang : languages) {
+                GrammaticalLabelSetDescriptor desc = getDescriptor(lang);
+                if (cache.getIfPresent(desc) != null) descs.add(desc);
+            }
+        }
+
+        // Reload each level of fallback languages after the one before it
+        SortedMap<Integer, List<GrammaticalLabelSetDescriptor>> byDepth = new TreeMap<>();
+        for (GrammaticalLabelSetDescriptor desc : descs) {
+            byDepth.computeIfAbsent(getFallbackDepth(desc.getLanguage()), k -> new ArrayList<>()).add(desc);
+        }
+        CacheLoader<GrammaticalLabelSetDescriptor, GrammaticalLabelSet> loader = getCacheLoader();
+        for (List<GrammaticalLabelSetDescriptor> level : byDepth.values()) {
+            result = result.thenCompose(ignore -> CompletableFuture.allOf(level.stream()
+                    .map(desc -> CompletableFuture.runAsync(() -> {
+                        try {
+                            cache.put(desc, loader.load(desc));
+                        } catch (Exception ex) {
+                            throw new CompletionException("Unable to refresh label set for " + desc, ex);
+                        }
+                    }, executor)).toArray(CompletableFuture[]::new)));
+        }
+        return result;
+    }
+
     /**
      * @deprecated use {@link #GrammaticalLabelSetLoader(GrammaticalLabelSetDescriptor)}
      */
@@ -153,6 +260,21 @@ public class GrammaticalLabelSetLoader implements GrammaticalLabelSetProvider {
         this.parentProvider = config.getParent();
         setUseTranslatedLanguage(config.useTranslatedLanguage());
         setSkipParsingLabelForPlatform(config.skipParsingLabelForPlatform());
+        this.prefillGeneratedSurfaces = config.prefillGeneratedSurfaces();
+        this.buildTermIndex = config.buildTermIndex();
+        this.internArena = config.useInternArena();
+        if (this.internArena) {
+            IniFileUtil.setPoolMaxSize(config.getInternPoolMaxSize());
+            IniFileUtil.setUseWeakInterner(config.useWeakInterner());
+        }
+        this.shareFallbackSections = config.shareFallbackSections();
+        this.overlayParent = config.overlayParent();
+        this.evictIdleAfter = config.getEvictIdleAfter();
+        this.lastUsed = config.getEvictIdleAtHeapPercent() > 0 ? new ConcurrentHashMap<>() : null;
+        this.weighFallbacks = config.getCacheMaxWeight() > 0;
+        Duration refresh = config.getCacheRefreshAfter();
+        this.refreshAfterNanos = refresh.isNegative() ? 0 : refresh.toNanos();
+        this.refreshedAt = System.nanoTime();
 
         // Share the keys of the parent loader if possible
         if (this.useSharedKeys) {
@@ -166,6 +288,18 @@ public class GrammaticalLabelSetLoader implements GrammaticalLabelSetProvider {
         }
 
         this.cache = initCache(config);
+        this.heapPressureListener = this.lastUsed != null
+                ? HeapPressureListener.register(this, config.getEvictIdleAtHeapPercent()) : null;
+    }
+
+    /**
+     * Stop evicting idle languages for heap pressure, restoring the collection usage thresholds of the heap if no other
+     * loader wants to hear about it.  The cached label sets are kept.
+     */
+    public void close() {
+        if (this.heapPressureListener != null) {
+            this.heapPressureListener.unregister();
+        }
     }
 
     /**
@@ -176,9 +310,40 @@ public class GrammaticalLabelSetLoader implements GrammaticalLabelSetProvider {
      */
     protected LoadingCache<GrammaticalLabelSetDescriptor, GrammaticalLabelSet> initCache(LabelSetLoaderConfig config) {
         // switch between Caffeine / Guava based on the config
+        // A Guava CacheLoader reloads on the calling thread, even in Caffeine, unless told otherwise
+        CacheLoader<GrammaticalLabelSetDescriptor, GrammaticalLabelSet> loader =
+                CacheLoader.asyncReloading(getCacheLoader(), getRefreshExecutor());
         return config.useCaffeine()
-                ? CaffeinatedGuava.build(getCaffeineCacheBuilder(config), getCacheLoader())
-                : getGuavaCacheBuilder(config).build(getCacheLoader());
+                ? CaffeinatedGuava.build(getCaffeineCacheBuilder(config), loader)
+                : getGuavaCacheBuilder(config).build(loader);
+    }
+
+    /**
+     * Override this method to load and refresh label sets in the background on another executor.  By default, they're
+     * loaded by a pool shared by every loader, with a thread for every two processors.
+     * @return the executor for {@link #getSetAsync(HumanLanguage)} and for refreshing label sets
+     */
+    protected Executor getRefreshExecutor() {
+        return REFRESH_EXECUTOR;
+    }
+
+    /**
+     * Reload every cached label set, and those of the parent, in the background when a set is read
+     * {@link LabelSetLoaderConfig#getCacheRefreshAfter()} after the last reload.  They're reloaded together by
+     * {@link #refreshMap(Collection, boolean)}, so that a language is never rebuilt on a stale fallback language.
+     */
+    private void refreshIfStale() {
+        if (this.refreshAfterNanos > 0 && System.nanoTime() - this.refreshedAt > this.refreshAfterNanos
+                && this.refreshing.compareAndSet(false, true)) {
+            long start = System.nanoTime();
+            refreshMap(null, true).whenComplete((ignore, ex) -> {
+                if (ex != null) {
+                    logger.log(Level.WARNING, "Unable to refresh the label sets of " + this.baseDesc, ex);
+                }
+                this.refreshedAt = start;
+                this.refreshing.set(false);
+            });
+        }
     }
 
     /**
@@ -212,8 +377,19 @@ public class GrammaticalLabelSetLoader implements GrammaticalLabelSetProvider {
         Duration expiration = config.getCacheExpireAfter();
         if (!expiration.isZero() && !expiration.isNegative()) builder.expireAfterAccess(expiration);
 
+        long maxWeight = config.getCacheMaxWeight();
         long maxSize = config.getCacheMaxSize();
-        if (maxSize > 0) builder.maximumSize(maxSize);
+        if (maxWeight > 0) {
+            builder.maximumWeight(maxWeight).weigher((desc, set) ->
+                weigh((GrammaticalLabelSetDescriptor)desc, (GrammaticalLabelSet)set));
+            builder.removalListener((desc, set, cause) -> {
+                if (cause != com.github.benmanes.caffeine.cache.RemovalCause.REPLACED) {
+                    reweighFallbacks((GrammaticalLabelSetDescriptor)desc);
+                }
+            });
+        } else if (maxSize > 0) {
+            builder.maximumSize(maxSize);
+        }
 
         if (config.isCacheStatsEnabled()) {
             builder.recordStats();
@@ -235,8 +411,19 @@ public class GrammaticalLabelSetLoader implements GrammaticalLabelSetProvider {
         Duration expiration = config.getCacheExpireAfter();
         if (!expiration.isZero() && !expiration.isNegative()) builder.expireAfterAccess(expiration);
 
+        long maxWeight = config.getCacheMaxWeight();
         long maxSize = config.getCacheMaxSize();
-        if (maxSize > 0) builder.maximumSize(maxSize);
+        if (maxWeight > 0) {
+            builder.maximumWeight(maxWeight).weigher((desc, set) ->
+                weigh((GrammaticalLabelSetDescriptor)desc, (GrammaticalLabelSet)set));
+            builder.removalListener(notification -> {
+                if (notification.getCause() != RemovalCause.REPLACED) {
+                    reweighFallbacks((GrammaticalLabelSetDescriptor)notification.getKey());
+                }
+            });
+        } else if (maxSize > 0) {
+            builder.maximumSize(maxSize);
+        }
 
         if (config.isCacheStatsEnabled()) {
             builder.recordStats();
@@ -245,11 +432,221 @@ public class GrammaticalLabelSetLoader implements GrammaticalLabelSetProvider {
     }
 
 
+    /**
+     * The weight of a label set in the cache when it's limited by {@link LabelSetLoaderConfig#getCacheMaxWeight()}.
+     * The sets of the base language and of fallback languages weigh nothing, so that they are never evicted for size
+     * while the languages that depend on them are cached.  Fallback languages are weighed again when a language that
+     * depends on them is loaded or removed.
+     *
+     * @param desc the descriptor of the set
+     * @param set the loaded set
+     * @return the estimated bytes of the set, or 0 if it shouldn't be evicted
+     */
+    protected int weigh(GrammaticalLabelSetDescriptor desc, GrammaticalLabelSet set) {
+        if (isFallbackLanguage(desc.getLanguage())) {
+            return 0;
+        }
+        return (int)Math.min(Integer.MAX_VALUE, set.footprint().getTotal());
+    }
+
+    /**
+     * @param language the language
+     * @return whether the language is the base language or the fallback language of another language that is cached,
+     * and so shouldn't be evicted to save memory
+     */
+    protected boolean isFallbackLanguage(HumanLanguage language) {
+        if (language == LanguageProviderFactory.get().getBaseLanguage() || language.getFallbackLanguage() == null) {
+            return true;
+        }
+        for (GrammaticalLabelSetDescriptor desc : this.cache.asMap().keySet()) {
+            for (HumanLanguage fallback = desc.getLanguage().getFallbackLanguage(); fallback != null; fallback = fallback.getFallbackLanguage()) {
+                if (fallback == language) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Weigh the cached fallback languages of a language again, after it's loaded or removed.
+     * @param desc the descriptor of the language
+     */
+    private void reweighFallbacks(GrammaticalLabelSetDescriptor desc) {
+        if (this.cache == null) {
+            return;  // still being constructed
+        }
+        for (HumanLanguage fallback = desc.getLanguage().getFallbackLanguage(); fallback != null; fallback = fallback.getFallbackLanguage()) {
+            GrammaticalLabelSetDescriptor fallbackDesc = desc.getForOtherLanguage(fallback);
+            GrammaticalLabelSet set = this.cache.getIfPresent(fallbackDesc);
+            if (set != null) {
+                // Putting back the same set makes the cache call the weigher again
+                this.cache.asMap().replace(fallbackDesc, set, set);
+            }
+        }
+    }
+
+    /**
+     * Evict the languages that haven't been used for a while, other than the base language and the fallback languages
+     * of cached languages.
+     * This is called when the heap is over {@link LabelSetLoaderConfig#getEvictIdleAtHeapPercent()} full after a
+     * collection, and only languages used since this loader was created are considered.
+     *
+     * @param idleFor how long a language must not have been used to be evicted
+     * @return the number of languages evicted
+     */
+    public int evictIdleLanguages(Duration idleFor) {
+        if (this.lastUsed == null) {
+            return 0;
+        }
+        long usedSince = System.nanoTime() - idleFor.toNanos();
+        int evicted = 0;
+        // Evict the variants before the languages they fall back to, which can go too once nothing depends on them
+        List<Map.Entry<GrammaticalLabelSetDescriptor, Long>> entries = new ArrayList<>(this.lastUsed.entrySet());
+        entries.sort(Comparator.comparingInt(entry -> -getFallbackDepth(entry.getKey().getLanguage())));
+        for (Map.Entry<GrammaticalLabelSetDescriptor, Long> entry : entries) {
+            GrammaticalLabelSetDescriptor desc = entry.getKey();
+            if (entry.getValue() - usedSince <= 0 && !isFallbackLanguage(desc.getLanguage())
+                    && this.lastUsed.remove(desc, entry.getValue())) {
+                if (this.cache.getIfPresent(desc) != null) {
+                    this.cache.invalidate(desc);
+                    evicted++;
+                }
+            }
+        }
+        if (evicted > 0) {
+            logger.info("Evicted " + evicted + " idle languages of " + this.baseDesc + " for heap pressure");
+        }
+        return evicted;
+    }
+
+    /**
+     * @return the number of fallback languages before the base language, which is 0 for the base language
+     */
+    private static int getFallbackDepth(HumanLanguage language) {
+        int depth = 0;
+        for (HumanLanguage fallback = language.getFallbackLanguage(); fallback != null; fallback = fallback.getFallbackLanguage()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    private void markUsed(GrammaticalLabelSetDescriptor desc) {
+        long now = System.nanoTime();
+        Long previous = this.lastUsed.get(desc);
+        // Only write once a second, as this is on every request
+        if (previous == null || now - previous > 1_000_000_000L) {
+            this.lastUsed.put(desc, now);
+        }
+    }
+
+    /**
+     * Evicts idle languages when a garbage collection leaves the heap over a threshold.  Only holds the loader weakly
+     * and removes itself when the loader is collected or closed, as the memory bean lives as long as the JVM.  The
+     * thresholds of the heap are set for the lowest percent of the registered listeners, and restored to what they
+     * were before once none are left.
+     */
+    private static final class HeapPressureListener implements NotificationListener {
+        // guarded by HeapPressureListener.class
+        private static final Set<HeapPressureListener> registered = new HashSet<>();
+        private static Map<String, Long> originalThresholds;
+
+        private final WeakReference<GrammaticalLabelSetLoader> loader;
+        private final int heapPercent;
+
+        private HeapPressureListener(GrammaticalLabelSetLoader loader, int heapPercent) {
+            this.loader = new WeakReference<>(loader);
+            this.heapPercent = heapPercent;
+        }
+
+        static synchronized HeapPressureListener register(GrammaticalLabelSetLoader loader, int heapPercent) {
+            HeapPressureListener listener = new HeapPressureListener(loader, heapPercent);
+            if (registered.isEmpty()) {
+                originalThresholds = new HashMap<>();
+                for (MemoryPoolMXBean pool : getHeapPools()) {
+                    originalThresholds.put(pool.getName(), pool.getCollectionUsageThreshold());
+                }
+            }
+            registered.add(listener);
+            updateThresholds();
+            ((NotificationEmitter)ManagementFactory.getMemoryMXBean()).addNotificationListener(listener, null, null);
+            return listener;
+        }
+
+        void unregister() {
+            synchronized (HeapPressureListener.class) {
+                if (!registered.remove(this)) {
+                    return;  // already removed
+                }
+                try {
+                    ((NotificationEmitter)ManagementFactory.getMemoryMXBean()).removeNotificationListener(this);
+                } catch (ListenerNotFoundException ignore) {
+                    // already removed
+                }
+                updateThresholds();
+                if (registered.isEmpty()) {
+                    originalThresholds = null;
+                }
+            }
+        }
+
+        private static void updateThresholds() {
+            for (MemoryPoolMXBean pool : getHeapPools()) {
+                long threshold = originalThresholds.getOrDefault(pool.getName(), 0L);
+                long max = pool.getUsage().getMax();
+                if (max > 0) {
+                    for (HeapPressureListener listener : registered) {
+                        long wanted = max / 100 * listener.heapPercent;
+                        // Another loader, or whoever set it before, may want to hear about it sooner
+                        if (threshold == 0 || wanted < threshold) {
+                            threshold = wanted;
+                        }
+                    }
+                }
+                pool.setCollectionUsageThreshold(threshold);
+            }
+        }
+
+        private static List<MemoryPoolMXBean> getHeapPools() {
+            List<MemoryPoolMXBean> result = new ArrayList<>();
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()) {
+                    result.add(pool);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (!MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+                return;
+            }
+            GrammaticalLabelSetLoader target = this.loader.get();
+            if (target == null) {
+                unregister();
+                return;
+            }
+            try {
+                target.evictIdleLanguages(target.evictIdleAfter);
+            } catch (RuntimeException ex) {
+                logger.log(Level.WARNING, "Unable to evict idle languages", ex);
+            }
+        }
+    }
+
     protected CacheLoader<GrammaticalLabelSetDescriptor, GrammaticalLabelSet> getCacheLoader() {
         return new CacheLoader<GrammaticalLabelSetDescriptor, GrammaticalLabelSet>() {
             @Override
             public GrammaticalLabelSet load(GrammaticalLabelSetDescriptor desc) throws Exception {
-                return GrammaticalLabelSetLoader.this.makeSet(desc);
+                InternArena arena = GrammaticalLabelSetLoader.this.internArena ? IniFileUtil.openArena() : null;
+                try {
+                    return GrammaticalLabelSetLoader.this.makeSet(desc);
+                } finally {
+                    if (arena != null) {
+                        arena.close();
+                    }
+                }
             }
         };
     }
@@ -282,7 +679,7 @@ public class GrammaticalLabelSetLoader implements GrammaticalLabelSetProvider {
 
             } else if (this.skipParsingLabelForPlatform) {
                 // load dictionary because this language has unique declension
-                LanguageDictionaryParser dictParser = new LanguageDictionaryParser(desc, createNewDictionary(lang), this.parentProvider);
+                LanguageDictionaryParser dictParser = new LanguageDictionaryParser(desc, createNewDictionary(lang), this.parentProvider, this.overlayParent);
                 LanguageDictionary dictionary = dictParser.getDictionary();
 
                 // use copy constructor for requested language
@@ -333,7 +730,7 @@ public class GrammaticalLabelSetLoader implements GrammaticalLabelSetProvider {
         HumanLanguage lang = desc.getLanguage();
 
         // dictionaries are always unique for every language because it may use different LanguageDeclension
-        LanguageDictionaryParser dictParser = new LanguageDictionaryParser(desc, createNewDictionary(lang), this.parentProvider);
+        LanguageDictionaryParser dictParser = new LanguageDictionaryParser(desc, createNewDictionary(lang), this.parentProvider, this.overlayParent);
         LanguageDictionary dictionary = finalizeDictionary(dictParser.getDictionary());
 
         // all standard/end-user languages comes here. Create a parser to read from XML files.
@@ -346,23 +743,62 @@ public class GrammaticalLabelSetLoader implements GrammaticalLabelSetProvider {
         GrammaticalLabelSet result = new GrammaticalLabelSetImpl(parser.getDictionary(), parser, propertyFileData);
         if (useSharedKeys) {
             ((SharedKeyMapPropertyFileData) propertyFileData).compact();
+            if (this.shareFallbackSections && lang.getFallbackLanguage() != null) {
+                shareFallbackSections(desc, (SharedKeyMapPropertyFileData) propertyFileData);
+            }
         }
         if (result instanceof GrammaticalLabelSetImpl) {
             ((GrammaticalLabelSetImpl)result).setLabelSectionToFilename(parser.getSectionToFileName());
         }
+        if (this.prefillGeneratedSurfaces) {
+            for (Map.Entry<String, Map<String, Object>> section : propertyFileData.entrySet()) {
+                RefTag.prefillGeneratedSurfaces(result.getDictionary(), section.getValue().values());
+            }
+        }
+        if (this.buildTermIndex && result instanceof GrammaticalLabelSetImpl) {
+            ((GrammaticalLabelSetImpl)result).buildTermIndex();
+        }
         return result;
     }
 
+    /**
+     * Regional variants usually have most of their sections the same as their fallback language, so use the
+     * fallback's instances for those.
+     * @param desc the descriptor of the language that was loaded
+     * @param data the data of the language that was loaded
+     */
+    private void shareFallbackSections(GrammaticalLabelSetDescriptor desc, SharedKeyMapPropertyFileData data) {
+        // Fallbacks are loaded first, see getSetByDescriptor; don't load one from inside this load
+        GrammaticalLabelSet fallback = cache.getIfPresent(desc.getForOtherLanguage(desc.getLanguage().getFallbackLanguage()));
+        if (fallback != null && fallback.getPropertyFileData() instanceof SharedKeyMapPropertyFileData) {
+            int shared = data.shareSections((SharedKeyMapPropertyFileData) fallback.getPropertyFileData());
+            logger.fine(() -> desc.getLabelSetName() + ": " + desc.getLanguage() + " shares " + shared + " of "
+                    + data.getSectionNames().size() + " sections with " + desc.getLanguage().getFallbackLanguage());
+        }
+    }
+
     /**
      * @return a LabelSet based on the supplied descriptor.
      * @param desc the descriptor to load
      */
     protected GrammaticalLabelSet getSetByDescriptor(GrammaticalLabelSetDescriptor desc) {
+        if (this.lastUsed != null) {
+            markUsed(desc);
+        }
         try {
             HumanLanguage fallbackLang = desc.getLanguage().getFallbackLanguage();
             if (fallbackLang != null) {
                 // Always load fallbacks first. Note, the cache never includes GrammaticalLabelSetFallbackImpl
                 GrammaticalLabelSet fallback = getSetByDescriptor(desc.getForOtherLanguage(fallbackLang));
+                if (this.weighFallbacks) {
+                    GrammaticalLabelSet set = cache.getIfPresent(desc);
+                    if (set == null) {
+                        // The fallbacks were weighed before this language was cached
+                        set = cache.get(desc);
+                        reweighFallbacks(desc);
+                    }
+                    return new GrammaticalLabelSetFallbackImpl(set, fallback);
+                }
                 return new GrammaticalLabelSetFallbackImpl(cache.get(desc), fallback);
             } else {
                 return cache.get(desc); // English only!
@@ -380,9 +816,126 @@ public class GrammaticalLabelSetLoader implements GrammaticalLabelSetProvider {
      */
     @Override
     public GrammaticalLabelSet getSet(HumanLanguage userLanguage) {
+        countUse(userLanguage);
+        refreshIfStale();
         return getSetByDescriptor(getDescriptor(userLanguage));
     }
 
+    private void countUse(HumanLanguage language) {
+        LongAdder uses = this.languageUses.get(language);
+        if (uses == null) {
+            uses = this.languageUses.computeIfAbsent(language, k -> new LongAdder());
+        }
+        uses.increment();
+    }
+
+    /**
+     * Get the label set without blocking on a load.  If the language and its fallback languages are cached, the
+     * returned future is already complete; otherwise they are loaded on {@link #getRefreshExecutor()}.
+     *
+     * @param userLanguage a language to load from label dictionary and data.
+     * @return a future of the {@link GrammaticalLabelSet} for the given {@code userLanguage}
+     */
+    public CompletableFuture<GrammaticalLabelSet> getSetAsync(HumanLanguage userLanguage) {
+        countUse(userLanguage);
+        refreshIfStale();
+        GrammaticalLabelSetDescriptor desc = getDescriptor(userLanguage);
+        for (HumanLanguage lang = userLanguage; lang != null; lang = lang.getFallbackLanguage()) {
+            if (!isLoaded(lang)) {
+                return CompletableFuture.supplyAsync(() -> getSetByDescriptor(desc), getRefreshExecutor());
+            }
+        }
+        return CompletableFuture.completedFuture(getSetByDescriptor(desc));
+    }
+
+    /**
+     * Estimate the heap retained by a language, if it's loaded.  The key index, which is shared by every language of
+     * this loader, is divided between the languages loaded.
+     * @param language the language
+     * @return the footprint of the labels and dictionary of the language, without its fallback language, or empty
+     * if the language isn't loaded
+     */
+    public Optional<Footprint> getFootprint(HumanLanguage language) {
+        GrammaticalLabelSet set = this.cache.getIfPresent(getDescriptor(language));
+        if (set == null) {
+            return Optional.empty();
+        }
+        Footprint result = set.footprint();
+        return Optional.of(this.useSharedKeys ? result.withKeyIndexSharedBy((int)Math.max(1, cache.size())) : result);
+    }
+
+    /**
+     * Capture the languages loaded by this loader and the labels read the most, to replay with
+     * {@link #warmUp(WarmupProfile)} when a new instance starts.  The languages asked for the most come first, each
+     * after the languages it falls back to.
+     *
+     * @param usage the tracker that recorded the label reads.  A {@link LabelUsageCounter} gives the hottest labels;
+     *            any other tracker gives the labels it recorded, in order of section and key.
+     * @param maxLabels the maximum number of labels to include
+     * @return the profile of this loader
+     */
+    public WarmupProfile getWarmupProfile(LabelUsageTracking usage, int maxLabels) {
+        List<HumanLanguage> loaded = new ArrayList<>();
+        for (GrammaticalLabelSetDescriptor desc : cache.asMap().keySet()) {
+            loaded.add(desc.getLanguage());
+        }
+        loaded.sort(Comparator.comparingLong((HumanLanguage lang) -> {
+            LongAdder uses = this.languageUses.get(lang);
+            return uses != null ? -uses.sum() : 0;
+        }).thenComparing(HumanLanguage::getLocaleString));
+        Set<HumanLanguage> languages = new LinkedHashSet<>();
+        for (HumanLanguage lang : loaded) {
+            Deque<HumanLanguage> withFallbacks = new ArrayDeque<>();
+            for (HumanLanguage fallback = lang; fallback != null; fallback = fallback.getFallbackLanguage()) {
+                withFallbacks.push(fallback);
+            }
+            languages.addAll(withFallbacks);
+        }
+
+        List<LabelReference> labels = new ArrayList<>();
+        if (usage instanceof LabelUsageCounter) {
+            labels.addAll(((LabelUsageCounter)usage).getHotLabels(maxLabels));
+        } else {
+            for (Map.Entry<String, String> label : usage.getUsedLabels().entries()) {
+                if (labels.size() >= maxLabels) break;
+                labels.add(new LabelRef(label.getKey(), label.getValue()));
+            }
+        }
+
+        List<String> localeStrings = new ArrayList<>(languages.size());
+        for (HumanLanguage lang : languages) {
+            localeStrings.add(lang.getLocaleString());
+        }
+        return new WarmupProfile(localeStrings, labels);
+    }
+
+    /**
+     * Load the languages of a profile, in order, and render its labels in each of them, so that the first requests
+     * after startup don't pay for parsing the label files, resolving aliases, generating noun forms, or encoding the
+     * labels.  Languages that aren't supported and labels that don't exist are skipped.  The labels rendered aren't
+     * tracked as used.  The label sets of the parent loader are warmed up as well.
+     *
+     * @param profile the profile captured by {@link #getWarmupProfile(LabelUsageTracking, int)}
+     * @return the number of labels rendered
+     */
+    public int warmUp(WarmupProfile profile) {
+        long start = System.currentTimeMillis();
+        LanguageProvider provider = LanguageProviderFactory.get().getProvider();
+        int rendered = 0;
+        for (String localeString : profile.getLanguages()) {
+            HumanLanguage language = provider.getLanguage(localeString);
+            if (language == null) {
+                logger.fine(() -> "Skipping unsupported language " + localeString + " in warm up of " + this.baseDesc);
+                continue;
+            }
+            // Not through getSet, as warming up isn't a use of the language
+            rendered += getSetByDescriptor(getDescriptor(language)).warmUp(profile.getLabels());
+        }
+        logger.info("Warmed up " + profile.getLanguages().size() + " languages and " + rendered + " labels of "
+                + this.baseDesc + " in " + (System.currentTimeMillis() - start) + "ms");
+        return rendered;
+    }
+
     public GrammaticalLabelSetDescriptor getBaseDesc() {
         return this.baseDesc;
     }
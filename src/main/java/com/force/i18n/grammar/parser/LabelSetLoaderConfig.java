@@ -32,8 +32,19 @@ public class LabelSetLoaderConfig {
     public static final String SKIP_PARSING_PLATFORM = "skipParsingLabelForPlatformLanguage";
     public static final String RECORD_STATS = "loader.cache.stats";
     public static final String LOADER_EXPIRE_AFTER = "loader.cache.expireAfter";
+    public static final String LOADER_REFRESH_AFTER = "loader.cache.refreshAfter";
     public static final String LOADER_MAX_SIZE = "loader.cache.maxSize";
+    public static final String LOADER_MAX_WEIGHT = "loader.cache.maxWeight";
+    public static final String LOADER_EVICT_IDLE_AT_HEAP_PERCENT = "loader.cache.evictIdleAtHeapPercent";
+    public static final String LOADER_EVICT_IDLE_AFTER = "loader.cache.evictIdleAfter";
     public static final String USE_CAFFEINE = "loader.cache.useCaffeine";
+    public static final String PREFILL_GENERATED_SURFACES = "loader.prefillGeneratedSurfaces";
+    public static final String BUILD_TERM_INDEX = "loader.buildTermIndex";
+    public static final String INTERN_ARENA = "loader.internArena";
+    public static final String INTERN_POOL_MAX_SIZE = "loader.internArena.poolMaxSize";
+    public static final String INTERN_WEAK = "loader.internArena.useWeakInterner";
+    public static final String SHARE_FALLBACK_SECTIONS = "loader.shareFallbackSections";
+    public static final String OVERLAY_PARENT = "loader.overlayParent";
 
     private final GrammaticalLabelSetDescriptor desc;
     private final GrammaticalLabelSetProvider parent;
@@ -43,8 +54,19 @@ public class LabelSetLoaderConfig {
     private boolean skipParsingLabelForPlatform;
     private boolean isCacheStatsEnabled;
     private Duration cacheExpireAfter; // expiration in minues
+    private Duration cacheRefreshAfter; // reload in the background after this long
     private long cacheMaxSize; // max allowed entires
+    private long cacheMaxWeight; // max estimated bytes of the entries
+    private int evictIdleAtHeapPercent; // heap occupancy after a collection that evicts idle languages
+    private Duration evictIdleAfter; // how long a language must be unused to be evicted for heap pressure
     private boolean useCaffeine;
+    private boolean prefillGeneratedSurfaces;
+    private boolean buildTermIndex;
+    private boolean internArena;
+    private int internPoolMaxSize; // max strings published by the arenas to the shared pool
+    private boolean useWeakInterner;
+    private boolean shareFallbackSections;
+    private boolean overlayParent;
 
     public LabelSetLoaderConfig(GrammaticalLabelSetDescriptor baseDesc, GrammaticalLabelSetProvider parent) {
         this.desc = baseDesc;
@@ -56,8 +78,19 @@ public class LabelSetLoaderConfig {
         setSkipParsingLabelForPlatform(BasePropertyFile.stringToBoolean(getProperty(SKIP_PARSING_PLATFORM)));
         setCacheStatsEnabled(BasePropertyFile.stringToBoolean(getProperty(RECORD_STATS)));
         setCacheExpireAfter(Duration.ofMinutes(getPropertyLong(LOADER_EXPIRE_AFTER)));
+        setCacheRefreshAfter(Duration.ofMinutes(getPropertyLong(LOADER_REFRESH_AFTER)));
         setCacheMaxSize(getPropertyLong(LOADER_MAX_SIZE));
+        setCacheMaxWeight(getPropertyLong(LOADER_MAX_WEIGHT));
+        setEvictIdleAtHeapPercent((int)getPropertyLong(LOADER_EVICT_IDLE_AT_HEAP_PERCENT));
+        setEvictIdleAfter(Duration.ofMinutes(getPropertyLong(LOADER_EVICT_IDLE_AFTER)));
         setCaffeine(BasePropertyFile.stringToBoolean(getProperty(USE_CAFFEINE)));
+        setPrefillGeneratedSurfaces(BasePropertyFile.stringToBoolean(getProperty(PREFILL_GENERATED_SURFACES)));
+        setBuildTermIndex(BasePropertyFile.stringToBoolean(getProperty(BUILD_TERM_INDEX)));
+        setInternArena(BasePropertyFile.stringToBoolean(getProperty(INTERN_ARENA)));
+        setInternPoolMaxSize((int)getPropertyLong(INTERN_POOL_MAX_SIZE));
+        setUseWeakInterner(BasePropertyFile.stringToBoolean(getProperty(INTERN_WEAK)));
+        setShareFallbackSections(BasePropertyFile.stringToBoolean(getProperty(SHARE_FALLBACK_SECTIONS)));
+        setOverlayParent(BasePropertyFile.stringToBoolean(getProperty(OVERLAY_PARENT)));
     }
 
     public LabelSetLoaderConfig(LabelSetLoaderConfig copyFrom) {
@@ -68,8 +101,19 @@ public class LabelSetLoaderConfig {
         setSkipParsingLabelForPlatform(copyFrom.skipParsingLabelForPlatform());
         setCacheStatsEnabled(copyFrom.isCacheStatsEnabled());
         setCacheExpireAfter(copyFrom.getCacheExpireAfter());
+        setCacheRefreshAfter(copyFrom.getCacheRefreshAfter());
         setCacheMaxSize(copyFrom.getCacheMaxSize());
+        setCacheMaxWeight(copyFrom.getCacheMaxWeight());
+        setEvictIdleAtHeapPercent(copyFrom.getEvictIdleAtHeapPercent());
+        setEvictIdleAfter(copyFrom.getEvictIdleAfter());
         setCaffeine(copyFrom.useCaffeine());
+        setPrefillGeneratedSurfaces(copyFrom.prefillGeneratedSurfaces());
+        setBuildTermIndex(copyFrom.buildTermIndex());
+        setInternArena(copyFrom.useInternArena());
+        setInternPoolMaxSize(copyFrom.getInternPoolMaxSize());
+        setUseWeakInterner(copyFrom.useWeakInterner());
+        setShareFallbackSections(copyFrom.shareFallbackSections());
+        setOverlayParent(copyFrom.overlayParent());
     }
 
     public static String getProperty(String prop) {
@@ -81,12 +125,7 @@ public class LabelSetLoaderConfig {
     }
 
     public static long getPropertyLong(String prop) {
-        String s = getProperty(prop);
-        try {
-            return Long.valueOf(s);
-        } catch (NumberFormatException ignore) {
-            return 0;
-        }
+        return I18nJavaUtil.getPropertyLong(prop);
     }
 
     public GrammaticalLabelSetDescriptor getDescriptor() {
@@ -141,6 +180,23 @@ public class LabelSetLoaderConfig {
         return this;
     }
 
+    public Duration getCacheRefreshAfter() {
+        return this.cacheRefreshAfter;
+    }
+
+    /**
+     * Reload the label sets of the loader in the background when one is read this long after the last reload.  Every
+     * cached language is reloaded together, after the parent's and each after the languages it falls back to, so
+     * none is rebuilt on a stale fallback.  The previous label sets are returned until the new ones are loaded, so a
+     * refresh never blocks a reader.
+     * @param newVal how long after loading to refresh, or zero to never refresh
+     * @return this
+     */
+    public LabelSetLoaderConfig setCacheRefreshAfter(Duration newVal) {
+        this.cacheRefreshAfter = newVal;
+        return this;
+    }
+
     public long getCacheMaxSize() {
         return this.cacheMaxSize;
     }
@@ -150,6 +206,47 @@ public class LabelSetLoaderConfig {
         return this;
     }
 
+    public long getCacheMaxWeight() {
+        return this.cacheMaxWeight;
+    }
+
+    /**
+     * Limit the cache by the estimated bytes of the label sets instead of their number.  The sets of the base language
+     * and of languages that other languages fall back to aren't counted and are never evicted for size.
+     * @param newVal the maximum estimated bytes of the cached label sets, or 0 for no limit.  Takes precedence over
+     * {@link #setCacheMaxSize(long)}.
+     * @return this
+     * @see com.force.i18n.grammar.GrammaticalLabelSet#footprint()
+     */
+    public LabelSetLoaderConfig setCacheMaxWeight(long newVal) {
+        this.cacheMaxWeight = newVal < 0 ? 0 : newVal;
+        return this;
+    }
+
+    public int getEvictIdleAtHeapPercent() {
+        return this.evictIdleAtHeapPercent;
+    }
+
+    /**
+     * @param newVal if the heap is at least this percent full after a garbage collection, evict the languages that
+     * haven't been used for {@link #getEvictIdleAfter()}, other than the base language and fallback languages.
+     * 0 turns this off.
+     * @return this
+     */
+    public LabelSetLoaderConfig setEvictIdleAtHeapPercent(int newVal) {
+        this.evictIdleAtHeapPercent = newVal < 0 ? 0 : Math.min(newVal, 100);
+        return this;
+    }
+
+    public Duration getEvictIdleAfter() {
+        return this.evictIdleAfter;
+    }
+
+    public LabelSetLoaderConfig setEvictIdleAfter(Duration newVal) {
+        this.evictIdleAfter = newVal;
+        return this;
+    }
+
     public LabelSetLoaderConfig setCaffeine(boolean useCaffeine) {
         this.useCaffeine = useCaffeine;
         return this;
@@ -159,14 +256,132 @@ public class LabelSetLoaderConfig {
         return this.useCaffeine;
     }
 
+    /**
+     * @param newValue if {@code true}, the loader generates the noun surfaces referenced by labels while loading
+     * a language whose declension derives them at render time
+     * @return this
+     * @see com.force.i18n.grammar.LanguageDeclension#hasGeneratedNounSurfaces()
+     */
+    public LabelSetLoaderConfig setPrefillGeneratedSurfaces(boolean newValue) {
+        this.prefillGeneratedSurfaces = newValue;
+        return this;
+    }
+
+    public boolean prefillGeneratedSurfaces() {
+        return this.prefillGeneratedSurfaces;
+    }
+
+    /**
+     * @param newValue if {@code true}, the loader builds the index from terms to the labels that use them while
+     * loading a language, instead of on first use
+     * @return this
+     * @see com.force.i18n.grammar.GrammaticalLabelSet#getLabelsUsingTerm
+     */
+    public LabelSetLoaderConfig setBuildTermIndex(boolean newValue) {
+        this.buildTermIndex = newValue;
+        return this;
+    }
+
+    public boolean buildTermIndex() {
+        return this.buildTermIndex;
+    }
+
+    /**
+     * @param newValue if {@code true}, each load dedupes its strings in a table of its own that only goes to the
+     * global weak interner the first time the load sees each string, and is published to a shared pool at the end
+     * @return this
+     * @see com.force.i18n.commons.util.settings.IniFileUtil#openArena()
+     */
+    public LabelSetLoaderConfig setInternArena(boolean newValue) {
+        this.internArena = newValue;
+        return this;
+    }
+
+    public boolean useInternArena() {
+        return this.internArena;
+    }
+
+    /**
+     * The pool is shared by the whole process, so the loader created last with intern arenas sets its size.
+     * @param newValue the maximum number of strings the intern arenas publish to the shared pool. no pool for 0.
+     * @return this
+     * @see com.force.i18n.commons.util.settings.IniFileUtil#setPoolMaxSize(int)
+     */
+    public LabelSetLoaderConfig setInternPoolMaxSize(int newValue) {
+        this.internPoolMaxSize = newValue;
+        return this;
+    }
+
+    public int getInternPoolMaxSize() {
+        return this.internPoolMaxSize;
+    }
+
+    /**
+     * Like the pool, this is for the whole process, so the loader created last with intern arenas sets it.
+     * @param newValue if {@code false}, strings that aren't in the shared pool are only deduped by the intern arena
+     * of the load, without going to the global weak interner
+     * @return this
+     * @see com.force.i18n.commons.util.settings.IniFileUtil#setUseWeakInterner(boolean)
+     */
+    public LabelSetLoaderConfig setUseWeakInterner(boolean newValue) {
+        this.useWeakInterner = newValue;
+        return this;
+    }
+
+    public boolean useWeakInterner() {
+        return this.useWeakInterner;
+    }
+
+    /**
+     * @param newValue if {@code true}, a language with a fallback language uses the fallback's instance of every
+     * section that has the same values, instead of keeping its own.  Only used with shared keys.
+     * @return this
+     * @see com.force.i18n.settings.SharedKeyMapPropertyFileData#shareSections
+     */
+    public LabelSetLoaderConfig setShareFallbackSections(boolean newValue) {
+        this.shareFallbackSections = newValue;
+        return this;
+    }
+
+    public boolean shareFallbackSections() {
+        return this.shareFallbackSections;
+    }
+
+    /**
+     * @param newValue if {@code true}, the dictionary of a label set with a parent holds only the terms of its own
+     * files, on top of the parent's dictionary, instead of a copy of every term of the parent.  Use for many small
+     * sets of overriding labels on the same parent.
+     * @return this
+     * @see com.force.i18n.grammar.LanguageDictionary#overlay(com.force.i18n.grammar.LanguageDictionary)
+     */
+    public LabelSetLoaderConfig setOverlayParent(boolean newValue) {
+        this.overlayParent = newValue;
+        return this;
+    }
+
+    public boolean overlayParent() {
+        return this.overlayParent;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append("stats=").append(this.isCacheStatsEnabled)
                 .append(", expire=").append(this.cacheExpireAfter)
+                .append(", refresh=").append(this.cacheRefreshAfter)
                 .append(", size=").append(this.cacheMaxSize)
+                .append(", weight=").append(this.cacheMaxWeight)
+                .append(", evictIdleAtHeapPercent=").append(this.evictIdleAtHeapPercent)
+                .append(", evictIdleAfter=").append(this.evictIdleAfter)
                 .append(", dir=").append(this.cacheDir.toAbsolutePath())
-                .append(", useCaffeine=").append(this.useCaffeine);
+                .append(", useCaffeine=").append(this.useCaffeine)
+                .append(", prefillGeneratedSurfaces=").append(this.prefillGeneratedSurfaces)
+                .append(", buildTermIndex=").append(this.buildTermIndex)
+                .append(", internArena=").append(this.internArena)
+                .append(", internPoolMaxSize=").append(this.internPoolMaxSize)
+                .append(", useWeakInterner=").append(this.useWeakInterner)
+                .append(", shareFallbackSections=").append(this.shareFallbackSections)
+                .append(", overlayParent=").append(this.overlayParent);
         return sb.toString();
     }
 }
@@ -61,6 +61,7 @@ public final class LanguageDictionaryParser {
     private final GrammaticalLabelSetDescriptor dictDesc;
     private final GrammaticalLabelSetProvider parentProvider; // Optional parent dictionary
     private final LanguageDictionary parentDictionary;
+    private final boolean overlayParent; // Share the parent's terms instead of copying them
 
     /**
      * Parse and load the dictionary for the descriptor with the given language
@@ -70,7 +71,22 @@ public final class LanguageDictionaryParser {
      * @throws IOException if there is a parsing exception.
      */
     public LanguageDictionaryParser(GrammaticalLabelSetDescriptor dictDesc, LanguageDictionary dictionary, GrammaticalLabelSetProvider parentProvider) throws IOException {
-        this(dictionary, dictDesc, parentProvider);
+        this(dictDesc, dictionary, parentProvider, false);
+    }
+
+    /**
+     * Parse and load the dictionary for the descriptor with the given language
+     * @param dictDesc the description of the location of the grammatical label
+     * @param dictionary the dictionary to stat with
+     * @param parentProvider the parentProvider if this parser is for overriding labels from a different labelset
+     * @param overlayParent if true, the dictionary only holds the terms of the overriding files, on top of the
+     *  parent's dictionary, and only the overriding files of the fallback languages are parsed for missing terms
+     * @throws IOException if there is a parsing exception.
+     * @see LanguageDictionary#overlay(LanguageDictionary)
+     */
+    public LanguageDictionaryParser(GrammaticalLabelSetDescriptor dictDesc, LanguageDictionary dictionary, GrammaticalLabelSetProvider parentProvider,
+            boolean overlayParent) throws IOException {
+        this(dictionary, dictDesc, parentProvider, overlayParent && parentProvider != null);
         loadDictionary();
         dictionary.makeSkinny();
     }
@@ -80,10 +96,12 @@ public final class LanguageDictionaryParser {
     }
 
     // Private constructor used *only* to get default english values for nouns that don't otherwise exist
-    private LanguageDictionaryParser(LanguageDictionary dictionary, GrammaticalLabelSetDescriptor dictDesc, GrammaticalLabelSetProvider parentProvider) {
+    private LanguageDictionaryParser(LanguageDictionary dictionary, GrammaticalLabelSetDescriptor dictDesc, GrammaticalLabelSetProvider parentProvider,
+            boolean overlayParent) {
         this.dictionary = dictionary;
         this.dictDesc = dictDesc;
         this.parentProvider = parentProvider;
+        this.overlayParent = overlayParent;
         this.parentDictionary = parentProvider != null ? this.parentProvider.getSet(this.dictionary.getLanguage()).getDictionary() : null;
         // DO NOTHING HERE, IT'S UP TO THE CALLER TO PARSE OR WHATEVER
     }
@@ -93,7 +111,10 @@ public final class LanguageDictionaryParser {
 
         // We need to check for things that haven't yet been translated into this language (or never will be), but may appear in the labels.
         // So, we parse english, see the set of nouns defined in english, and then make sure we have a value in *this* language for all of those nouns by defaulting to the Singular value from english
-        LanguageDictionaryParser fallbackParser = new LanguageDictionaryParser(new LanguageDictionary(fallbackLanguage), this.dictDesc.getForOtherLanguage(fallbackLanguage), parentProvider);
+        // The parent's dictionary already has the parent's fallback terms, so an overlay only needs the overriding ones
+        LanguageDictionaryParser fallbackParser = this.overlayParent
+                ? new LanguageDictionaryParser(new LanguageDictionary(fallbackLanguage), this.dictDesc.getForOtherLanguage(fallbackLanguage), null, false)
+                : new LanguageDictionaryParser(new LanguageDictionary(fallbackLanguage), this.dictDesc.getForOtherLanguage(fallbackLanguage), parentProvider, false);
         fallbackParser.parseAllDictionaries();
         LanguageDictionary fallbackDictionary = fallbackParser.getDictionary();
 
@@ -176,7 +197,11 @@ public final class LanguageDictionaryParser {
         if (this.parentDictionary != null) {
             // Copy over the terms from the parent.
             // For performance and memory reasons, we clone the maps, but we do not clone the terms
-            this.dictionary.putAll(parentDictionary);
+            if (this.overlayParent) {
+                this.dictionary.overlay(parentDictionary);
+            } else {
+                this.dictionary.putAll(parentDictionary);
+            }
         }
         if (this.dictDesc.hasOverridingFiles()) {
             // We're not english
@@ -173,7 +173,7 @@ class NounRefTag extends TermRefTag {
             if (s != null) return s;
 
             // If explicit form is missing, try language-specific surface generation from the term
-            String generated = dict.getDeclension().generateSurfaceFromTerm(n, frm);
+            String generated = dict.generateSurfaceFromTerm(n, frm);
             if (generated != null) {
                 return isCapital ? generated : n.getDeclension().formLowercaseNounForm(generated, frm);
             }
@@ -197,7 +197,7 @@ class NounRefTag extends TermRefTag {
         if (s != null) return s;
 
         // If the declension can generate surfaces from base, use it when explicit form is absent
-        String generated = dict.getDeclension().generateSurfaceFromBase(n.getDefaultString(false), frm);
+        String generated = dict.generateSurfaceFromBase(n.getDefaultString(false), frm);
         if (generated != null) {
             return isCapital ? generated : n.getDeclension().formLowercaseNounForm(generated, frm);
         }
@@ -232,12 +232,22 @@ class NounRefTag extends TermRefTag {
         } else {
             n = dict.getNoun(getName(), true);
         }
-        String generated = dict.getDeclension().generateSurfaceFromTerm(n, frm);
+        String generated = dict.generateSurfaceFromTerm(n, frm);
         if (generated == null) return null;
 
         return isCapital ? generated : n.getDeclension().formLowercaseNounForm(generated, frm);
     }
 
+    @Override
+    void prefillGeneratedSurfaces(LanguageDictionary dictionary) {
+        // Only static references can be resolved ahead of time; this mirrors renderStatic
+        if (isDynamic()) return;
+        Noun n = dictionary.getNoun(getName(), false);
+        if (n != null && n.getString(this.form) == null) {
+            dictionary.generateSurfaceFromBase(n.getDefaultString(false), this.form);
+        }
+    }
+
     private Renameable getEntityAtIndexOrNull(Renameable... entities) {
         return (entities != null && index >= 0 && index < entities.length) ? entities[index] : null;
     }
@@ -19,6 +19,7 @@ package com.force.i18n.grammar.parser;
 
 import java.util.*;
 
+import com.force.i18n.LanguagePluralRules;
 import com.force.i18n.PluralCategory;
 import com.force.i18n.Renameable;
 import com.force.i18n.grammar.GrammaticalTerm;
@@ -76,23 +77,29 @@ public class PluralRefTag extends RefTag {
             return ifDefault;
         }
         Object toTest = vals[val];
-        Number num;
         if (toTest == null) {
             return ifDefault;
         }
-        if (toTest instanceof Number) {
-            num = (Number) toTest;
+        LanguagePluralRules rules = dictionary.getDeclension().getPluralRules();
+        // Zero isn't returned for plural rules in CLDR, but you might want it anyway.
+        PluralCategory category;
+        if (toTest instanceof Integer || toTest instanceof Long || toTest instanceof Short || toTest instanceof Byte) {
+            // Integers avoid the conversion to double, and the common ones are precomputed
+            long num = ((Number)toTest).longValue();
+            category = num == 0 && when.containsKey(PluralCategory.ZERO) ? PluralCategory.ZERO : rules.getPluralCategory(num);
         } else {
-            try {
-                num = Double.parseDouble(String.valueOf(toTest));
-            } catch (NumberFormatException ex) {
-                return ifDefault;
+            double num;
+            if (toTest instanceof Number) {
+                num = ((Number)toTest).doubleValue();
+            } else {
+                try {
+                    num = Double.parseDouble(String.valueOf(toTest));
+                } catch (NumberFormatException ex) {
+                    return ifDefault;
+                }
             }
+            category = num == 0.0 && when.containsKey(PluralCategory.ZERO) ? PluralCategory.ZERO : rules.getPluralCategory(num);
         }
-        // Zero isn't returned for plural rules in CLDR, but you might want it anyway.
-        PluralCategory category = (num.doubleValue() == 0.0 && when.containsKey(PluralCategory.ZERO))
-                ? PluralCategory.ZERO
-                : dictionary.getDeclension().getPluralRules().getPluralCategory(num);
         Object val = when.get(category);
         return val != null ? val : ifDefault;
     }
@@ -78,6 +78,15 @@ public abstract class RefTag implements Serializable  {
      */
     public abstract Set<GrammaticalTerm> getTermsInUse(LanguageDictionary dictionary);
 
+    /**
+     * Generate ahead of time any surfaces the dictionary would generate when rendering this reference, so that the
+     * first render doesn't pay for it.  Only useful for declensions that generate surfaces.
+     * @param dictionary the dictionary to use to look up terms
+     */
+    void prefillGeneratedSurfaces(LanguageDictionary dictionary) {
+        // Nothing to do by default
+    }
+
     @Override
     public String toString() {
         return getKey();
@@ -123,6 +132,28 @@ public abstract class RefTag implements Serializable  {
         return result != null ? result : Collections.emptySet();
     }
 
+    /**
+     * Given a collection of objects that may come from a grammatical label set (i.e. is a String, List, or RefTag),
+     * generate the noun surfaces they reference for declensions that generate them at render time.
+     * @param dictionary the dictionary to use to look up terms
+     * @param labelValues the set of values to prefill
+     * @see com.force.i18n.grammar.LanguageDeclension#hasGeneratedNounSurfaces()
+     */
+    public static void prefillGeneratedSurfaces(LanguageDictionary dictionary, Iterable<Object> labelValues) {
+        if (!dictionary.getDeclension().hasGeneratedNounSurfaces()) return;
+        for (Object labelValue : labelValues) {
+            if (labelValue instanceof List) {
+                for (Object part : (List<?>)labelValue) {
+                    if (part instanceof RefTag) {
+                        ((RefTag)part).prefillGeneratedSurfaces(dictionary);
+                    }
+                }
+            } else if (labelValue instanceof RefTag) {
+                ((RefTag)labelValue).prefillGeneratedSurfaces(dictionary);
+            }
+        }
+    }
+
     /**
      * Convert a component of a label to a String, either it's a string or a refTag
      * @param dictionary the current dictionary of nouns.
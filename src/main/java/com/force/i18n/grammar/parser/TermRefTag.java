@@ -48,6 +48,15 @@ public abstract class TermRefTag extends RefTag {
         return name;
     }
 
+    /**
+     * @return the number of term references in the static pools of the noun, adjective and article references, which
+     * every label set of the JVM shares, and which keep references after the label sets using them are gone
+     */
+    public static int getPoolSize() {
+        return NounRefTag.tagMap.size() + AdjectiveRefTag.tagMap.size() + BasqueAdjectiveRefTag.tagMap.size()
+                + ArticleRefTag.tagMap.size();
+    }
+
     /**
      * @return a "key" that uniquely identifies all the attributes of the reference tag.
      * Used by toString to provide some usefulness
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, Salesforce, Inc.
+ * SPDX-License-Identifier: Apache-2
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.force.i18n.grammar.parser;
+
+import java.io.*;
+import java.util.*;
+
+import com.force.i18n.LabelRef;
+import com.force.i18n.LabelReference;
+
+/**
+ * What a running instance loaded and read, so that a new instance can load the same languages and render the
+ * same labels before serving requests.  Use {@link GrammaticalLabelSetLoader#getWarmupProfile} to capture one,
+ * {@link #write(Appendable)} and {@link #read(Reader)} to keep it between deploys, and
+ * {@link GrammaticalLabelSetLoader#warmUp(WarmupProfile)} to replay it at startup.
+ * <p>
+ * The text form has a line per language and per label, in the order they are replayed, and can be edited:
+ * <pre>
+ * language	en_US
+ * label	Sample	click_here_to_create_new_account
+ * </pre>
+ */
+public final class WarmupProfile {
+    private static final String LANGUAGE = "language";
+    private static final String LABEL = "label";
+
+    private final List<String> languages;
+    private final List<LabelReference> labels;
+
+    /**
+     * @param languages the locale strings of the languages to load, in the order to load them
+     * @param labels the labels to render, hottest first
+     */
+    public WarmupProfile(List<String> languages, List<? extends LabelReference> labels) {
+        this.languages = Collections.unmodifiableList(new ArrayList<>(languages));
+        this.labels = Collections.unmodifiableList(new ArrayList<>(labels));
+    }
+
+    /**
+     * @return the locale strings of the languages to load, in the order to load them
+     */
+    public List<String> getLanguages() {
+        return this.languages;
+    }
+
+    /**
+     * @return the labels to render, hottest first
+     */
+    public List<LabelReference> getLabels() {
+        return this.labels;
+    }
+
+    /**
+     * @param out where to write the text form of this profile
+     * @throws IOException if out can't be written to
+     */
+    public void write(Appendable out) throws IOException {
+        for (String language : this.languages) {
+            out.append(LANGUAGE).append('\t').append(language).append('\n');
+        }
+        for (LabelReference label : this.labels) {
+            out.append(LABEL).append('\t').append(label.getSection()).append('\t').append(label.getKey()).append('\n');
+        }
+    }
+
+    /**
+     * @param in the text form of a profile
+     * @return the profile.  Blank lines, lines starting with #, and lines that aren't understood are skipped.
+     * @throws IOException if in can't be read
+     */
+    public static WarmupProfile read(Reader in) throws IOException {
+        List<String> languages = new ArrayList<>();
+        List<LabelReference> labels = new ArrayList<>();
+        BufferedReader reader = in instanceof BufferedReader ? (BufferedReader)in : new BufferedReader(in);
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            String[] fields = line.trim().split("\t");
+            if (fields.length == 2 && LANGUAGE.equals(fields[0])) {
+                languages.add(fields[1]);
+            } else if (fields.length == 3 && LABEL.equals(fields[0])) {
+                labels.add(new LabelRef(fields[1], fields[2]));
+            }
+        }
+        return new WarmupProfile(languages, labels);
+    }
+
+    @Override
+    public String toString() {
+        return "WarmupProfile[languages=" + this.languages + ", labels=" + this.labels.size() + "]";
+    }
+}
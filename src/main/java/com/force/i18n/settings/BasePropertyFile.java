@@ -251,6 +251,32 @@ public class BasePropertyFile implements BaseNonConfigIniFile, Serializable {
         return this.data.get(section, param);
     }
 
+    /**
+     * Same as {@link #inner_get(String, String, boolean)}, but uses the handle's indexes when the data supports them.
+     * Misses go through the named lookup so that missing sections are reported the same way.
+     * @param handle the handle for the section and param
+     * @param throwSettingsSectionNotFoundException whether to throw if the section doesn't exist
+     * @return the value for the handle, or null if there is none
+     * @throws SettingsSectionNotFoundException if the section is missing and throwSettingsSectionNotFoundException is true
+     */
+    protected Object inner_get(LabelHandle handle, boolean throwSettingsSectionNotFoundException) throws SettingsSectionNotFoundException {
+        Object result = this.data.get(handle);
+        if (result != null) {
+            return result;
+        }
+        return inner_get(handle.getSection(), handle.getKey(), throwSettingsSectionNotFoundException);
+    }
+
+    /**
+     * @return a handle for the section and param that can be used for repeated lookups against this
+     * and other property files that share the same keys.
+     * @param section the section name
+     * @param param the parameter name
+     */
+    public LabelHandle resolveHandle(String section, String param) {
+        return this.data.resolveHandle(section, param);
+    }
+
     /**
      * @return a set of all params in the specified section. You'd best be not
      *         messing with it.
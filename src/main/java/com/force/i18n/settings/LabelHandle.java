@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025, Salesforce, Inc.
+ * SPDX-License-Identifier: Apache-2
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.force.i18n.settings;
+
+import com.force.i18n.LabelReference;
+
+/**
+ * A (section, key) pair that has been resolved once against the shared key space of a
+ * {@link SharedKeyMapPropertyFileData}, so that later reads are two array indexes instead of two hash lookups.
+ * <p>
+ * Indexes in a SharedKeyMap are append-only, so a handle stays valid for every language that shares the same
+ * seed key map, and can be resolved once (e.g. at class init for constant keys) and kept. When a handle is
+ * used against data with a different key space, or was resolved before the key existed, lookups silently fall
+ * back to the section and key strings, so a handle is never less correct than the strings it was built from.
+ *
+ * @see PropertyFileData#resolveHandle(String, String)
+ * @see com.force.i18n.grammar.GrammaticalLabelSet#getLabelHandle(String, String)
+ */
+public final class LabelHandle implements LabelReference {
+    private final String section;
+    private final String key;
+    private final Object keySpace;
+    private final int sectionIndex;
+    private final int keyIndex;
+
+    LabelHandle(String section, String key, Object keySpace, int sectionIndex, int keyIndex) {
+        this.section = section;
+        this.key = key;
+        this.keySpace = keySpace;
+        this.sectionIndex = sectionIndex;
+        this.keyIndex = keyIndex;
+    }
+
+    /**
+     * @param section the section of the label
+     * @param key the key of the label
+     * @return a handle that always looks up the label by its strings
+     */
+    public static LabelHandle unresolved(String section, String key) {
+        if (section == null || key == null) throw new NullPointerException();
+        return new LabelHandle(section, key, null, -1, -1);
+    }
+
+    @Override
+    public String getSection() {
+        return this.section;
+    }
+
+    @Override
+    public String getKey() {
+        return this.key;
+    }
+
+    @Override
+    public Object[] getArguments() {
+        return null;
+    }
+
+    /**
+     * @return the section and key indexes packed into a single long, or -1 if this handle is unresolved
+     */
+    public long getIndex() {
+        return isResolved() ? ((long)this.sectionIndex << 32) | this.keyIndex : -1L;
+    }
+
+    /**
+     * @return whether this handle has indexes into a shared key space
+     */
+    public boolean isResolved() {
+        return this.keySpace != null;
+    }
+
+    /**
+     * @return whether this handle's indexes are valid for the given key space
+     * @param space the shared key map the caller's data is keyed by
+     */
+    boolean isResolvedFor(Object space) {
+        return this.keySpace != null && this.keySpace == space;
+    }
+
+    int getSectionIndex() {
+        return this.sectionIndex;
+    }
+
+    int getKeyIndex() {
+        return this.keyIndex;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LabelHandle)) return false;
+        LabelHandle other = (LabelHandle)o;
+        return this.section.equals(other.section) && this.key.equals(other.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.section.hashCode() * 31 + this.key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.section + "." + this.key;
+    }
+}
@@ -130,4 +130,24 @@ public interface PropertyFileData extends Serializable {
         Map<String, Object> section = getSection(sectionName);
         return section == null ? null : section.get(paramName);
     }
+
+    /**
+     * Resolve a section and parameter name into a handle that can be used for repeated lookups.
+     * Implementations that don't share keys return a handle that looks the value up by name.
+     * @param sectionName the section name
+     * @param paramName the parameter name
+     * @return a handle for the section and parameter
+     * @see SharedKeyMapPropertyFileData
+     */
+    default LabelHandle resolveHandle(String sectionName, String paramName) {
+        return LabelHandle.unresolved(sectionName, paramName);
+    }
+
+    /**
+     * @param handle the handle returned from {@link #resolveHandle(String, String)}
+     * @return a raw label value for the handle, or {@code null} if it does not exist.
+     */
+    default Object get(LabelHandle handle) {
+        return get(handle.getSection(), handle.getKey());
+    }
 }
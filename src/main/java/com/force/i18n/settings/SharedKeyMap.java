@@ -250,6 +250,25 @@ public class SharedKeyMap<K, V> extends AbstractMap<K, V> implements Serializabl
         return this.values.get(index.intValue());
     }
 
+    /**
+     * @return the index of the key in the shared key map, or -1 if no map sharing these keys has ever held it.
+     * Indexes are never reassigned, so the result is valid for every SharedKeyMap sharing this key map.
+     * @param key the key to look up
+     */
+    public int indexOf(Object key) {
+        Integer index = this.keyToIndex.get(key);
+        return index == null ? -1 : index.intValue();
+    }
+
+    /**
+     * @return the value stored at the given index, or null if there is none
+     * @param index an index previously returned from {@link #indexOf(Object)}
+     */
+    public V getAt(int index) {
+        if (this.values == null) return null;
+        return unmaskNull(this.values.get(index));
+    }
+
     @Override
     public boolean containsKey(Object key) {
         return inner_get(key) != null;
@@ -61,6 +61,9 @@ public class SharedKeyMapPropertyFileData implements PropertyFileData {
 
     private final Set<String> publicSections;
 
+    // Sections whose instance is also used by the data of another language.  see shareSections
+    private final Set<String> sharedSections = ConcurrentHashMap.newKeySet();
+
     /**
      * @param locale The locale id should correspond
      *      to a value that came from the g11n.xml file
@@ -121,6 +124,30 @@ public class SharedKeyMapPropertyFileData implements PropertyFileData {
         return section.containsKey(paramName);
     }
 
+    @Override
+    public LabelHandle resolveHandle(String sectionName, String paramName) {
+        LabelHandle unresolved = LabelHandle.unresolved(sectionName, paramName);
+        SharedKeyMap<String, SharedKeyMap<String, Object>> seedMap = this.seed;
+        int sectionIndex = seedMap.indexOf(sectionName);
+        SharedKeyMap<String, Object> seedSection = sectionIndex < 0 ? null : seedMap.getAt(sectionIndex);
+        int paramIndex = seedSection == null ? -1 : seedSection.indexOf(paramName);
+        if (paramIndex < 0) {
+            // Not in the key space yet; the handle will look it up by name
+            return unresolved;
+        }
+        return new LabelHandle(sectionName, paramName, seedMap, sectionIndex, paramIndex);
+    }
+
+    @Override
+    public Object get(LabelHandle handle) {
+        if (!handle.isResolvedFor(this.seed)) {
+            return get(handle.getSection(), handle.getKey());
+        }
+        // data shares its key map with seed, and each section shares its key map with the seed section
+        SharedKeyMap<String, Object> section = this.data.getAt(handle.getSectionIndex());
+        return section == null ? null : section.getAt(handle.getKeyIndex());
+    }
+
     @Override
     public Set<String> getPublicSectionNames() {
         return Collections.unmodifiableSet(this.publicSections);
@@ -136,7 +163,7 @@ public class SharedKeyMapPropertyFileData implements PropertyFileData {
 
     @Override
     public Object put(String sectionName, String paramName, Object value) {
-        SharedKeyMap<String, Object> section = this.data.get(sectionName);
+        SharedKeyMap<String, Object> section = unshare(sectionName, this.data.get(sectionName));
 
         if (section == null) {
             // populate seed, lazily as needed
@@ -171,6 +198,21 @@ public class SharedKeyMapPropertyFileData implements PropertyFileData {
         return section.put(paramName, value);
     }
 
+    /**
+     * Iterating {@link #entrySet()} isn't safe while another language sharing the seed is being loaded, so take a
+     * copy while holding the seed lock to walk all the sections.
+     * @return a copy of the section names and sections, in the order of the seed
+     */
+    public List<Map.Entry<String, Map<String, Object>>> snapshotSections() {
+        synchronized (this.seedLock) {
+            List<Map.Entry<String, Map<String, Object>>> result = new ArrayList<>(this.data.size());
+            for (Map.Entry<String, SharedKeyMap<String, Object>> entry : this.data.entrySet()) {
+                result.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), Collections.unmodifiableMap(entry.getValue())));
+            }
+            return result;
+        }
+    }
+
     public void compact() {
         synchronized (this.seedLock) {
             this.seed.trimToSize();
@@ -187,14 +229,78 @@ public class SharedKeyMapPropertyFileData implements PropertyFileData {
         }
     }
 
+    /**
+     * Use the section instances of another language's data, such as the fallback language of a regional variant,
+     * for each section whose values are all equal to it.  Both must share the same seed.  Call this once both are
+     * loaded; a later change to a shared section, from either side, copies it first.  Always call this on the variant
+     * with its fallback, and not the other way around, as it locks both.
+     * @param other the data to share sections with
+     * @return the number of sections now shared
+     */
+    public int shareSections(SharedKeyMapPropertyFileData other) {
+        if (other == this || other.seed != this.seed) {
+            return 0;
+        }
+        List<String> equalSections = new ArrayList<>();
+        // we need to sync on seed here, like in compact, because iterating over this.data ends up iterating over
+        // seed's keyset, which could have sections added to it in put by either side.
+        synchronized (this.seedLock) {
+            synchronized (other.seedLock) {
+                for (Map.Entry<String, SharedKeyMap<String, Object>> entry : this.data.entrySet()) {
+                    SharedKeyMap<String, Object> otherSection = other.data.get(entry.getKey());
+                    if (otherSection != null && otherSection != entry.getValue() && otherSection.equals(entry.getValue())) {
+                        equalSections.add(entry.getKey());
+                    }
+                }
+                for (String sectionName : equalSections) {
+                    other.markShared(sectionName);
+                    markShared(sectionName);
+                    this.data.put(sectionName, other.data.get(sectionName));
+                }
+            }
+        }
+        return equalSections.size();
+    }
+
+    /**
+     * @param sectionName the name of the section
+     * @return whether the section instance is also used by the data of another language
+     */
+    public boolean isShared(String sectionName) {
+        return this.sharedSections != null && this.sharedSections.contains(sectionName);  // null if deserialized from an older version
+    }
+
+    private void markShared(String sectionName) {
+        if (this.sharedSections != null) {
+            this.sharedSections.add(sectionName);
+        }
+    }
+
+    /**
+     * @return a copy of the section if it's shared with another language, so that it can be changed, or the section
+     */
+    private SharedKeyMap<String, Object> unshare(String sectionName, SharedKeyMap<String, Object> section) {
+        if (section == null || !isShared(sectionName)) {
+            return section;
+        }
+        SharedKeyMap<String, Object> copy = new SharedKeyMap<String, Object>(section);
+        copy.putAll(section);
+        this.data.put(sectionName, copy);
+        this.sharedSections.remove(sectionName);
+        return copy;
+    }
+
     @Override
     public void removeSection(String sectionName) {
         this.data.remove(sectionName);
+        if (this.sharedSections != null) {
+            this.sharedSections.remove(sectionName);
+        }
     }
 
     @Override
     public Object remove(String sectionName, String paramName) {
-        SharedKeyMap<String, Object> section = this.data.get(sectionName);
+        SharedKeyMap<String, Object> section = unshare(sectionName, this.data.get(sectionName));
         if (section == null) {
             return null;
         }
@@ -19,6 +19,7 @@ package com.force.i18n;
 
 import static org.junit.Assert.assertThrows;
 
+import java.math.BigDecimal;
 import java.text.*;
 import java.util.*;
 import java.util.function.Function;
@@ -598,4 +599,91 @@ public class BaseLocalizerTest extends TestCase {
        BaseLocalizer.setLocaleFormatFixer(old_predicate);
     }
 
+    /**
+     * Parsing plain numbers without the NumberFormat returns the same values as parsing with it
+     */
+    public void testParsePlainNumbers() throws Exception {
+        TimeZone tz = TimeZone.getTimeZone("America/Los_Angeles");
+        Random random = new Random(17);
+        for (Locale locale : new Locale[] {Locale.US, Locale.GERMANY, Locale.FRANCE, new Locale.Builder().setLanguage("de").setRegion("CH").build(),
+                new Locale.Builder().setLanguage("sv").setRegion("SE").build(), new Locale.Builder().setLanguage("hi").setRegion("IN").build(),
+                new Locale.Builder().setLanguage("ar").setRegion("EG").build()}) {
+            BaseLocalizer localizer = new BaseLocalizer(locale, locale, tz, HumanLanguage.Helper.get(Locale.US), lSet);
+            DecimalFormatSymbols symbols = ((DecimalFormat)localizer.getNumberFormat()).getDecimalFormatSymbols();
+            String g = String.valueOf(symbols.getGroupingSeparator());
+            String d = String.valueOf(symbols.getDecimalSeparator());
+            String m = ((DecimalFormat)localizer.getNumberFormat()).getNegativePrefix();
+            List<String> inputs = new ArrayList<>(Arrays.asList("", "0", "-0", m + "0", m + "0" + d + "0", "0" + d + "000", "007", "1" + d + "0", "1" + d + "50",
+                    m + "12" + g + "345" + d + "678", "1" + g + "2345", "1" + g + g + "2", g + "5", "5" + g, "1" + d, d + "5", m, "1" + d + "5" + g + "0",
+                    "9223372036854775807", "9223372036854775808", m + "9223372036854775808", m + "9223372036854775809", "92233720368547758070",
+                    "9" + g + "223" + g + "372" + g + "036" + g + "854" + g + "775" + g + "807", "123456789012345678901234567890" + d + "5",
+                    "0" + d + "1", "1E5", "12abc", " 12", "12 ", "+12", "1-2", "1" + d + "2" + d + "3", "0000000000000000000001"));
+            for (int i = 0; i < 2000; i++) {
+                StringBuilder sb = new StringBuilder();
+                if (random.nextBoolean()) sb.append(m);
+                for (int j = random.nextInt(25) + 1; j > 0; j--) {
+                    int r = random.nextInt(14);
+                    sb.append(r < 10 ? String.valueOf(r) : r < 12 ? g : r < 13 ? d : "0");
+                }
+                inputs.add(sb.toString());
+            }
+
+            int plain = 0;
+            for (String input : inputs) {
+                Number expected = parseOrNull(input, localizer.getNumberFormat());
+                Number actual = PlainNumberParser.forFormat(localizer.getNumberFormat()).parse(input);
+                if (actual != null) {
+                    plain++;
+                    assertEquals(locale + " " + input, expected, actual);
+                }
+                assertEquals(locale + " " + input, expected, parseOrNull(input, localizer::parseNumber));
+                Number percent = parseOrNull(input, localizer.getPercentFormat());
+                assertEquals(locale + " " + input, percent != null ? BigDecimal.valueOf(percent.doubleValue()).multiply(BigDecimal.valueOf(100)) : expected,
+                        parseOrNull(input, localizer::parsePercent));
+                Number currency = parseOrNull(input, localizer.getCurrencyFormat());
+                assertEquals(locale + " " + input, currency != null ? currency : expected, parseOrNull(input, localizer::parseCurrency));
+            }
+            // Formats with other affixes, such as the bidi marks of Arabic, are always parsed by the format
+            assertTrue(locale.toString(), plain > 100 || PlainNumberParser.forFormat(localizer.getNumberFormat()).parse("12") == null);
+        }
+    }
+
+    public void testParsePlainNumbersAfterFormatChange() throws Exception {
+        TimeZone tz = TimeZone.getTimeZone("America/Los_Angeles");
+        BaseLocalizer localizer = new BaseLocalizer(Locale.US, Locale.US, tz, HumanLanguage.Helper.get(Locale.US), lSet);
+        DecimalFormat format = (DecimalFormat)localizer.getNumberFormat();
+        assertEquals(15L, localizer.parseNumber("1,5"));
+        assertEquals(-5L, localizer.parseNumber("-5"));
+
+        // Replacing the format with other symbols, or changing its negative prefix, must not leave a stale plain parser
+        format = (DecimalFormat)format.clone();
+        DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+        symbols.setGroupingSeparator('.');
+        symbols.setDecimalSeparator(',');
+        format.setDecimalFormatSymbols(symbols);
+        localizer.numberFormat = format;
+        assertEquals(1.5, localizer.parseNumber("1,5").doubleValue());
+        format.setNegativePrefix("~");
+        for (String input : new String[] {"1,5", "1.234,5", "-5", "~5", "~1.234"}) {
+            assertEquals(input, parseOrNull(input, format), parseOrNull(input, localizer::parseNumber));
+        }
+        assertEquals(1.5, localizer.parseNumber("1,5").doubleValue());
+        assertEquals(-5L, localizer.parseNumber("~5"));
+    }
+
+    private interface NumberParser {
+        Number parse(String input) throws ParseException;
+    }
+
+    private static Number parseOrNull(String input, NumberFormat nf) {
+        return parseOrNull(input, s -> BaseLocalizer.doParseNumber(s, nf));
+    }
+
+    private static Number parseOrNull(String input, NumberParser parser) {
+        try {
+            return parser.parse(input);
+        } catch (ParseException ex) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026, Salesforce, Inc.
+ * SPDX-License-Identifier: Apache-2
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.force.i18n;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests that the timestamp formatting and parsing is the same as a SimpleDateFormat in GMT
+ */
+public class I18nDateUtilTest extends TestCase {
+
+    public I18nDateUtilTest(String name) {
+        super(name);
+    }
+
+    private static SimpleDateFormat gmt(String pattern) {
+        SimpleDateFormat result = new SimpleDateFormat(pattern);
+        result.setTimeZone(BaseLocalizer.GMT_TZ);
+        return result;
+    }
+
+    public void testFormat() {
+        SimpleDateFormat nls = gmt(I18nDateUtil.NLS_DATE_FORMAT);
+        SimpleDateFormat iso = gmt("yyyy-MM-dd'T'HH:mm:ss'Z'");
+        SimpleDateFormat isoMillis = gmt("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+        List<Long> times = new ArrayList<>(Arrays.asList(0L, -1L, 1L, 86399999L, 86400000L, -86400000L, 951782400000L, 951868800000L,
+                -12219292800000L, -12219292800001L, 253402300799999L, 253402300800000L, Long.MIN_VALUE / 2, Long.MAX_VALUE / 2));
+        Random random = new Random(5);
+        for (int i = 0; i < 20000; i++) {
+            times.add(random.nextLong() % 20000000000000L);
+        }
+        for (long time : times) {
+            Date date = new Date(time);
+            assertEquals(String.valueOf(time), nls.format(date), I18nDateUtil.formatTimestamp(date));
+            assertEquals(String.valueOf(time), iso.format(date), BaseLocalizer.formatISO8601(date));
+            assertEquals(String.valueOf(time), isoMillis.format(date), BaseLocalizer.formatISO8601WithMilliSeconds(date));
+        }
+        assertEquals("2011-01-31T22:59:48Z", BaseLocalizer.formatISO8601(new Date(1296514788000L)));
+        assertEquals("2011-01-31T22:59:48.123Z", BaseLocalizer.formatISO8601WithMilliSeconds(new Date(1296514788123L)));
+    }
+
+    public void testParse() throws Exception {
+        SimpleDateFormat nls = gmt(I18nDateUtil.NLS_DATE_FORMAT);
+        List<String> inputs = new ArrayList<>(Arrays.asList("2008-03-13 12:00:00", "2008-03-13 12:00:00.0", "2008-03-13 12:00:001",
+                "2000-02-29 23:59:59", "2001-02-29 00:00:00", "2008-13-45 25:61:61", "2008-3-5 7:2:0", "1582-10-15 00:00:00",
+                "1583-01-01 00:00:00", "1000-01-01 00:00:00", "9999-12-31 23:59:59", "0001-01-01 00:00:00", "2008-03-13T12:00:00",
+                "2008-03-13 12:00", "-2008-03-13 12:00:00", "2008-03-13 12:00:00 PST"));
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            inputs.add(nls.format(new Date(random.nextLong() % 20000000000000L)));
+        }
+        for (String input : inputs) {
+            Date expected;
+            try {
+                expected = nls.parse(input);
+            } catch (ParseException ex) {
+                expected = null;
+            }
+            Date actual;
+            try {
+                actual = I18nDateUtil.parseTimestamp_NoStupidExceptionRemap(input);
+            } catch (ParseException ex) {
+                actual = null;
+            }
+            assertEquals(input, expected, actual);
+        }
+    }
+
+    public void testNonGregorianDefaultLocale() {
+        // The Thai default locale uses the Buddhist calendar, so the years differ
+        Locale defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+        try {
+            Locale.setDefault(Locale.Category.FORMAT, new Locale.Builder().setLanguage("th").setRegion("TH").build());
+            Date date = new Date(1296514788000L);
+            assertEquals(gmt(I18nDateUtil.NLS_DATE_FORMAT).format(date), I18nDateUtil.formatTimestamp(date));
+            assertEquals(gmt("yyyy-MM-dd'T'HH:mm:ss'Z'").format(date), BaseLocalizer.formatISO8601(date));
+            assertEquals("2554-01-31 22:59:48", I18nDateUtil.formatTimestamp(date));
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+        }
+        assertEquals("2011-01-31 22:59:48", I18nDateUtil.formatTimestamp(new Date(1296514788000L)));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, Salesforce, Inc.
+ * SPDX-License-Identifier: Apache-2
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.force.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.force.i18n.LabelUsageCounter.LabelCount;
+import com.force.i18n.settings.LabelHandle;
+import com.google.common.collect.ImmutableSetMultimap;
+
+class LabelUsageCounterTest {
+
+    @Test
+    @DisplayName("every read is counted, by strings or by handle")
+    void countsReads() {
+        LabelUsageCounter counter = new LabelUsageCounter();
+        assertTrue(counter.isTrackingLabelUsage());
+        for (int i = 0; i < 3; i++) {
+            counter.trackLabel("Sample", "account");
+        }
+        counter.trackLabel(LabelHandle.unresolved("Sample", "account"));
+        counter.trackLabel("Sample", "contact");
+        counter.trackLabel("Other", "contact");
+        counter.trackLabel(null, "contact");
+
+        assertEquals(4, counter.getCount("Sample", "account"));
+        assertEquals(1, counter.getCount("Other", "contact"));
+        assertEquals(0, counter.getCount("Other", "account"));
+        assertEquals(ImmutableSetMultimap.of("Other", "contact", "Sample", "account", "Sample", "contact"),
+                counter.getUsedLabels());
+
+        List<LabelCount> hot = counter.getHotLabels(2);
+        assertEquals("[Sample.account=4, Other.contact=1]", hot.toString());
+        assertEquals(3, counter.getHotLabels(10).size());
+
+        counter.reset();
+        assertTrue(counter.getUsedLabels().isEmpty());
+    }
+
+    @Test
+    @DisplayName("sampled reads are counted as the reads they stand for")
+    void sampling() {
+        LabelUsageCounter counter = new LabelUsageCounter(8);
+        for (int i = 0; i < 80_000; i++) {
+            counter.trackLabel("Sample", "account");
+        }
+        long count = counter.getCount("Sample", "account");
+        assertEquals(0, count % 8);
+        assertTrue(count > 70_000 && count < 90_000, () -> "estimate was " + count);
+        assertThrows(IllegalArgumentException.class, () -> new LabelUsageCounter(0));
+    }
+
+    @Test
+    @DisplayName("reads from many threads are all counted")
+    void concurrentReads() throws Exception {
+        LabelUsageCounter counter = new LabelUsageCounter();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        counter.trackLabel("Sample", "key" + (i % 10));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(4_000, counter.getCount("Sample", "key3"));
+        assertEquals(10, counter.getUsedLabels().size());
+    }
+}
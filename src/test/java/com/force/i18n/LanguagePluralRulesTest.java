@@ -25,6 +25,8 @@ import org.junit.Test;
 import com.force.i18n.LanguagePluralRules.NumberType;
 import com.google.common.collect.ImmutableSet;
 import com.ibm.icu.math.BigDecimal;
+import com.ibm.icu.text.PluralRules;
+import com.ibm.icu.text.PluralRules.PluralType;
 
 
 /**
@@ -92,4 +94,22 @@ public class LanguagePluralRulesTest {
 		Assert.assertEquals(PluralCategory.ONE, rules.getPluralCategory(101.0f));
 	}
 
+	@Test
+	public void testPrimitives() {
+		// The precomputed categories and the primitive overloads match ICU, inside and outside of the precomputed range
+		for (Locale locale : ImmutableSet.of(Locale.US, Locale.FRENCH, new Locale.Builder().setLanguage("ar").build(), new Locale.Builder().setLanguage("ru").build(), new Locale.Builder().setLanguage("cy").build())) {
+			LanguagePluralRules rules = getRules(locale);
+			for (NumberType type : NumberType.values()) {
+				PluralRules icu = PluralRules.forLocale(locale, type == NumberType.ORDINAL ? PluralType.ORDINAL : PluralType.CARDINAL);
+				for (int i = -5; i < DefaultLanguagePluralRulesImpl.PRECOMPUTED_SIZE + 200; i++) {
+					PluralCategory expected = PluralCategory.fromCategory(icu.select(i));
+					Assert.assertEquals(locale + " " + type + " " + i, expected, rules.getPluralCategory((long)i, type));
+					Assert.assertEquals(locale + " " + type + " " + i, expected, rules.getPluralCategory((double)i, type));
+					Assert.assertEquals(locale + " " + type + " " + i, expected, rules.getPluralCategory(Integer.valueOf(i), type));
+					Assert.assertEquals(locale + " " + type + " " + i + ".5", PluralCategory.fromCategory(icu.select(i + 0.5)), rules.getPluralCategory(i + 0.5, type));
+				}
+			}
+			Assert.assertEquals(rules.getPluralCategory(0L), rules.getPluralCategory((Number)null));
+		}
+	}
 }
@@ -64,4 +64,47 @@ public class LocaleUtilsUnitTest extends TestCase {
         assertEquals(Locale.ENGLISH, LocaleUtils.get().getLocaleFromHttpInput("en;q=0.8"));
         assertEquals(Locale.US, LocaleUtils.get().getLocaleFromHttpInput("en-US,en;q=0.8"));
     }
+
+    public void testNegotiateLanguage() {
+        LanguageProvider provider = LanguageProviderFactory.get();
+        HumanLanguage french = provider.getLanguage(Locale.FRENCH);
+        HumanLanguage german = provider.getLanguage(Locale.GERMAN);
+        LocaleUtils utils = LocaleUtils.get();
+
+        assertNull(utils.negotiateLanguage(null));
+        assertNull(utils.negotiateLanguage(""));
+        assertNull(utils.negotiateLanguage("en;q=abc"));
+        assertEquals(provider.getBaseLanguage(), utils.negotiateLanguage("*"));
+
+        // Exact and close matches, in order of weight
+        assertEquals(provider.getLanguage(Locale.US), utils.negotiateLanguage("en-US,en;q=0.8"));
+        assertEquals(french, utils.negotiateLanguage("fr-XX,fr;q=0.9,en;q=0.8"));
+        assertEquals(german, utils.negotiateLanguage("en;q=0.1, de"));
+        assertEquals(provider.getLanguage(Locale.TRADITIONAL_CHINESE), utils.negotiateLanguage("zh-Hant"));
+
+        // Unsupported and refused languages are skipped, instead of using the base language
+        assertEquals(german, utils.negotiateLanguage("xx, de;q=0.5"));
+        assertNull(utils.negotiateLanguage("xx"));
+        assertNull(utils.negotiateLanguage("de;q=0"));
+        assertEquals(german, utils.negotiateLanguage("xx", german));
+
+        // A language without a language-only variant matches the one the others fall back to
+        HumanLanguage portuguese = utils.negotiateLanguage("pt");
+        assertEquals("pt", portuguese.getLocale().getLanguage());
+        assertTrue(portuguese.getFallbackLanguage() == null
+                || !"pt".equals(portuguese.getFallbackLanguage().getLocale().getLanguage()));
+
+        // Refused languages aren't picked by a wildcard or a close match, only when asked for exactly
+        HumanLanguage base = provider.getBaseLanguage();
+        assertEquals(base, utils.negotiateLanguage("de;q=0, *"));
+        HumanLanguage notBase = utils.negotiateLanguage(base.getLocale().getLanguage() + ";q=0, *");
+        assertNotNull(notBase);
+        assertFalse(base.getLocale().getLanguage().equals(notBase.getLocale().getLanguage()));
+        assertEquals(provider.getLanguage(LanguageConstants.GERMAN_AT), utils.negotiateLanguage("de;q=0, de-AT"));
+        assertNull(utils.negotiateLanguage("de;q=0, de-XX"));
+        assertEquals(german, utils.negotiateLanguage("de-AT;q=0, de-XX"));
+
+        // Repeated headers give the same answer
+        assertEquals(german, utils.negotiateLanguage("xx, de;q=0.5"));
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Salesforce, Inc.
+ * SPDX-License-Identifier: Apache-2
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.force.i18n.commons.text;
+
+import java.util.*;
+
+import com.ibm.icu.text.Collator;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for CollationUtil class
+ */
+public class CollationUtilTest extends TestCase {
+
+    public CollationUtilTest(String name) {
+        super(name);
+    }
+
+    public void testSharedCollator() {
+        Collator collator = CollationUtil.getCollator(Locale.GERMAN);
+        assertTrue(collator.isFrozen());
+        assertSame(collator, CollationUtil.getCollator(Locale.GERMAN));
+        assertNotSame(collator, CollationUtil.getCollator(new Locale.Builder().setLanguage("sv").build()));
+        try {
+            collator.setStrength(Collator.PRIMARY);
+            fail("A shared collator can't be changed");
+        } catch (UnsupportedOperationException expected) { }
+    }
+
+    public void testSort() {
+        List<String> list = new ArrayList<>(Arrays.asList("zebra", "Äpfel", null, "apfel", "Zucker", "öl", "Ol"));
+        CollationUtil.sort(list, Locale.GERMAN);
+        assertEquals(Arrays.asList(null, "apfel", "Äpfel", "Ol", "öl", "zebra", "Zucker"), list);
+
+        // Swedish sorts ö after z
+        list = new ArrayList<>(Arrays.asList("öl", "zebra", "ol"));
+        CollationUtil.sort(list, new Locale.Builder().setLanguage("sv").build());
+        assertEquals(Arrays.asList("ol", "zebra", "öl"), list);
+
+        // Equal values keep their order
+        List<String[]> pairs = new ArrayList<>();
+        pairs.add(new String[] {"b", "1"});
+        pairs.add(new String[] {"a", "2"});
+        pairs.add(new String[] {"b", "3"});
+        pairs.add(new String[] {"a", "4"});
+        CollationUtil.sort(pairs, a -> a[0], CollationUtil.getCollator(Locale.US));
+        StringBuilder order = new StringBuilder();
+        pairs.forEach(a -> order.append(a[1]));
+        assertEquals("2413", order.toString());
+    }
+
+    public void testParallelSort() {
+        Random random = new Random(42);
+        String letters = "aäbcdeéfghijklmnoöpqrsßtuüvwxyzAÄBCÉOÖZ ";
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < CollationUtil.PARALLEL_THRESHOLD * 2; i++) {
+            if (i % 1000 == 0) {
+                list.add(null);
+                continue;
+            }
+            StringBuilder sb = new StringBuilder();
+            for (int j = random.nextInt(8) + 1; j > 0; j--) {
+                sb.append(letters.charAt(random.nextInt(letters.length())));
+            }
+            list.add(sb.toString());
+        }
+        // ICU's compare can differ from its sort keys for a few strings, such as \u00e4\u00df and a\u00df, so compare with the keys
+        Collator collator = CollationUtil.getCollator(Locale.GERMAN);
+        List<String> expected = new ArrayList<>(list);
+        expected.sort(Comparator.nullsFirst(Comparator.comparing(collator::getCollationKey)));
+
+        CollationUtil.sort(list, Locale.GERMAN);
+        assertEquals(expected, list);
+    }
+}
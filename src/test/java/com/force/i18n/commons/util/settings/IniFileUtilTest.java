@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2025, Salesforce, Inc.
+ * SPDX-License-Identifier: Apache-2
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.force.i18n.commons.util.settings;
+
+import java.util.concurrent.*;
+
+import com.force.i18n.commons.util.settings.IniFileUtil.InternArena;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for {@link IniFileUtil}
+ */
+public class IniFileUtilTest extends TestCase {
+    public IniFileUtilTest(String name) {
+        super(name);
+    }
+
+    public void testIntern() {
+        assertNull(IniFileUtil.intern((String)null));
+        String a = new String("testIntern");
+        assertSame(a, IniFileUtil.intern(a));
+        assertSame(a, IniFileUtil.intern(new String("testIntern")));
+        assertSame(a, IniFileUtil.intern((Object)new String("testIntern")));
+        Integer i = 5;
+        assertSame(i, IniFileUtil.intern((Object)i));
+    }
+
+    public void testArena() throws Exception {
+        String a = new String("testArena");
+        try (InternArena arena = IniFileUtil.openArena()) {
+            assertSame(a, IniFileUtil.intern(a));
+            // Nested loads share the arena
+            try (InternArena nested = IniFileUtil.openArena()) {
+                assertSame(arena, nested);
+                assertSame(a, IniFileUtil.intern(new String("testArena")));
+            }
+
+            // Another thread, with or without an arena, gets the same string from the weak interner
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                assertSame(a, executor.submit(() -> IniFileUtil.intern(new String("testArena"))).get());
+                assertSame(a, executor.submit(() -> {
+                    try (InternArena other = IniFileUtil.openArena()) {
+                        assertNotSame(arena, other);
+                        return IniFileUtil.intern(new String("testArena"));
+                    }
+                }).get());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        assertSame(a, IniFileUtil.intern(new String("testArena")));
+    }
+
+    public void testPool() {
+        IniFileUtil.clearPool();
+        IniFileUtil.setPoolMaxSize(2);
+        try {
+            String[] strings = {new String("testPoolA"), new String("testPoolB"), new String("testPoolC")};
+            try (InternArena arena = IniFileUtil.openArena()) {
+                for (String str : strings) {
+                    assertSame(str, IniFileUtil.intern(str));
+                }
+            }
+            // The pool stops growing at its maximum size
+            assertEquals(2, IniFileUtil.getPoolSize());
+
+            // Without the weak interner, only the pool and arenas dedupe strings
+            IniFileUtil.setUseWeakInterner(false);
+            int pooled = 0;
+            for (String str : strings) {
+                if (IniFileUtil.intern(new String(str)) == str) {
+                    pooled++;
+                }
+            }
+            assertEquals(2, pooled);
+            String d = new String("testPoolD");
+            assertSame(d, IniFileUtil.intern(d));
+            assertNotSame(d, IniFileUtil.intern(new String("testPoolD")));
+            String e = new String("testPoolE");
+            try (InternArena arena = IniFileUtil.openArena()) {
+                assertSame(e, IniFileUtil.intern(e));
+                assertSame(e, IniFileUtil.intern(new String("testPoolE")));
+            }
+        } finally {
+            IniFileUtil.setUseWeakInterner(true);
+            IniFileUtil.setPoolMaxSize(65536);
+            IniFileUtil.clearPool();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, Salesforce, Inc.
+ * SPDX-License-Identifier: Apache-2
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.force.i18n.grammar;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.force.i18n.*;
+import com.force.i18n.grammar.Noun.NounType;
+import com.force.i18n.grammar.parser.BaseGrammaticalLabelTest;
+
+/**
+ * Test of the caching and snapshots of the {@link CachingRenamingProvider}
+ */
+public class CachingRenamingProviderTest extends BaseGrammaticalLabelTest {
+    public CachingRenamingProviderTest(String name) {
+        super(name);
+    }
+
+    public void testCaching() throws Exception {
+        HumanLanguage ENGLISH = LanguageProviderFactory.get().getBaseLanguage();
+        AtomicInteger calls = new AtomicInteger();
+        AtomicLong generation = new AtomicLong();
+        RenamingProvider counting = new MockRenamingProvider(makeEnglishNoun("Account", NounType.ENTITY, LanguageStartsWith.CONSONANT,
+                "Client", "Clients")) {
+            @Override
+            public Noun getRenamedNoun(HumanLanguage language, String key) {
+                calls.incrementAndGet();
+                return super.getRenamedNoun(language, key);
+            }
+        };
+        CachingRenamingProvider provider = new CachingRenamingProvider(counting, null, generation::get, 100);
+
+        assertNotNull(provider.getRenamedNoun(ENGLISH, "Account"));
+        assertNull(provider.getRenamedNoun(ENGLISH, "Contact"));
+        assertSame(provider.getRenamedNoun(ENGLISH, "Account"), provider.getRenamedNoun(ENGLISH, "Account"));
+        assertNull(provider.getRenamedNoun(ENGLISH, "Contact"));
+        assertEquals(2, calls.get());
+
+        // A new generation asks again
+        generation.incrementAndGet();
+        assertNotNull(provider.getRenamedNoun(ENGLISH, "Account"));
+        assertEquals(3, calls.get());
+        provider.invalidateAll();
+        assertNotNull(provider.getRenamedNoun(ENGLISH, "Account"));
+        assertEquals(4, calls.get());
+    }
+
+    public void testSnapshot() throws Exception {
+        HumanLanguage ENGLISH = LanguageProviderFactory.get().getBaseLanguage();
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger flagCalls = new AtomicInteger();
+        AtomicLong generation = new AtomicLong();
+        RenamingProvider counting = new MockRenamingProvider(makeEnglishNoun("Account", NounType.ENTITY, LanguageStartsWith.CONSONANT,
+                "Client", "Clients")) {
+            @Override
+            public Noun getRenamedNoun(HumanLanguage language, String key) {
+                calls.incrementAndGet();
+                return super.getRenamedNoun(language, key);
+            }
+
+            @Override
+            public boolean useRenamedNouns() {
+                flagCalls.incrementAndGet();
+                return super.useRenamedNouns();
+            }
+        };
+        CachingRenamingProvider provider = new CachingRenamingProvider(counting, null, generation::get, 100);
+        RenamingProvider curProvider = RenamingProviderFactory.get().getProvider();
+        try {
+            RenamingProviderFactory.get().setProvider(provider);
+            Renameable account = getStandardRenameable("Account");
+            try (CachingRenamingProvider.Snapshot snapshot = provider.openSnapshot()) {
+                assertSame(snapshot, provider.getSnapshot());
+                for (int i = 0; i < 3; i++) {
+                    assertEquals("{0} with these Clients", renderDynamicLabel(ENGLISH, "{0} with <these/> <Entity plural=\"y\" entity=\"0\"/>", account));
+                    assertTrue(provider.useRenamedNouns());
+                    // The generation is fixed for the render
+                    generation.incrementAndGet();
+                }
+                assertEquals(1, calls.get());
+                assertEquals(1, flagCalls.get());
+            }
+            assertNull(provider.getSnapshot());
+            assertTrue(provider.useRenamedNouns());
+            assertEquals(2, flagCalls.get());
+
+            // Nested snapshots go back to the outer one
+            try (CachingRenamingProvider.Snapshot outer = provider.openSnapshot()) {
+                try (CachingRenamingProvider.Snapshot inner = provider.openSnapshot()) {
+                    assertSame(inner, provider.getSnapshot());
+                }
+                assertSame(outer, provider.getSnapshot());
+            }
+            assertNull(provider.getSnapshot());
+        } finally {
+            RenamingProviderFactory.get().setProvider(curProvider);
+        }
+    }
+}
@@ -21,6 +21,8 @@ import java.net.URL;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Locale;
 import java.util.Map;
@@ -101,6 +103,27 @@ public class GrammaticalLocalizerTest extends BaseGrammaticalLabelTest {
     }
 
 
+    public void testGetLabels() {
+        GrammaticalLocalizer gl = (GrammaticalLocalizer) LocalizerFactory.get().getLocalizer(Locale.US);
+        Renameable account = getStandardRenameable("Account");
+        Renameable[] accounts = new Renameable[] {account};
+        LabelReference backToList = new LabelRef("Sample", "last_type_list");
+        LabelReference backToDetail = new LabelRef("Sample", "back_detail", "foo");
+
+        assertEquals(Arrays.asList("Back to List: Accounts", "Back to Account: foo", "Back to List: Accounts"),
+                gl.getLabels(Arrays.asList(backToList, backToDetail, backToList), accounts));
+        assertEquals(Arrays.asList(gl.getLabel("Sample", "created_by"), gl.getLabel("Sample", "openAnAccount")),
+                gl.getLabels(Arrays.asList(new LabelRef("Sample", "created_by"), new LabelRef("Sample", "openAnAccount")), null));
+
+        Renameable contact = getStandardRenameable("Contact");
+        assertEquals(Arrays.asList(gl.getLabel("Sample", accounts, "last_type_list"), gl.getLabel("Sample", new Renameable[] {contact}, "last_type_list")),
+                gl.getLabelsWithEntities(Arrays.asList(backToList, backToList), Arrays.asList(accounts, new Renameable[] {contact})));
+        try {
+            gl.getLabelsWithEntities(Arrays.asList(backToList), Collections.emptyList());
+            fail("Mismatched entities should fail");
+        } catch (IllegalArgumentException expected) {}
+    }
+
     /**
      * Test the escapeHtml flag on entities in cases where the label will be used unescaped directly.
      */
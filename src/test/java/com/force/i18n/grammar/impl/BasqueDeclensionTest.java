@@ -34,6 +34,7 @@ import com.force.i18n.grammar.AdjectiveForm;
 import com.force.i18n.grammar.LanguageArticle;
 import com.force.i18n.grammar.LanguageCase;
 import com.force.i18n.grammar.LanguageDeclension;
+import com.force.i18n.grammar.LanguageDictionary;
 import com.force.i18n.grammar.LanguageGender;
 import com.force.i18n.grammar.LanguageNumber;
 import com.force.i18n.grammar.LanguagePossessive;
@@ -279,6 +280,52 @@ class BasqueDeclensionTest {
         assertEquals(LanguageArticle.ZERO, nf.getArticle());
     }
 
+    @Test
+    void testApproximateNounFormDynamicInterned() {
+        BasqueDeclension decl = (BasqueDeclension)getBasque();
+        var nf = decl.getApproximateNounForm(LanguageNumber.SINGULAR, LanguageCase.INESSIVE, null, LanguageArticle.DEFINITE);
+        assertSame(nf, decl.getApproximateNounForm(LanguageNumber.SINGULAR, LanguageCase.INESSIVE, LanguagePossessive.NONE, LanguageArticle.DEFINITE));
+        // Plural normalizes to definite, so every plural article request shares the same form
+        var pl = decl.getApproximateNounForm(LanguageNumber.PLURAL, LanguageCase.INESSIVE, null, LanguageArticle.ZERO);
+        assertEquals(LanguageArticle.DEFINITE, pl.getArticle());
+        assertSame(pl, decl.getApproximateNounForm(LanguageNumber.PLURAL, LanguageCase.INESSIVE, null, LanguageArticle.INDEFINITE));
+        // Exact overrides are still returned as enum forms
+        assertSame(BasqueDeclension.BasqueNounForm.SG_ERG_DEF,
+            decl.getApproximateNounForm(LanguageNumber.SINGULAR, LanguageCase.ERGATIVE, null, LanguageArticle.DEFINITE));
+    }
+
+    @Test
+    void testGeneratedSurfacesAreMemoized() {
+        BasqueDeclension decl = (BasqueDeclension)getBasque();
+        assertTrue(decl.hasGeneratedNounSurfaces());
+        LanguageDictionary dict = new LanguageDictionary(decl.getLanguage());
+        BasqueDeclension.BasqueNoun noun = newNoun();
+        noun.setString("Etxe", BasqueDeclension.BasqueNounForm.BASE);
+
+        NounForm form = decl.getApproximateNounForm(LanguageNumber.SINGULAR, LanguageCase.INESSIVE, null, LanguageArticle.DEFINITE);
+        String fromTerm = dict.generateSurfaceFromTerm(noun, form);
+        assertEquals(decl.generateSurfaceFromTerm(noun, form), fromTerm);
+        assertSame(fromTerm, dict.generateSurfaceFromTerm(noun, form));
+
+        // Nouns are remembered by name and values, so an equal copy shares the surface, and a renamed one doesn't
+        BasqueDeclension.BasqueNoun copy = newNoun();
+        copy.setString("Etxe", BasqueDeclension.BasqueNounForm.BASE);
+        assertSame(fromTerm, dict.generateSurfaceFromTerm(copy, form));
+        BasqueDeclension.BasqueNoun renamed = newNoun();
+        renamed.setString("Mendi", BasqueDeclension.BasqueNounForm.BASE);
+        assertEquals(decl.generateSurfaceFromTerm(renamed, form), dict.generateSurfaceFromTerm(renamed, form));
+        assertFalse(fromTerm.equals(dict.generateSurfaceFromTerm(renamed, form)));
+
+        String fromBase = dict.generateSurfaceFromBase("Etxe", form);
+        assertEquals(decl.generateSurfaceFromBase("Etxe", form), fromBase);
+        assertSame(fromBase, dict.generateSurfaceFromBase(new String("Etxe"), form));
+
+        // Declensions that don't generate surfaces still return null
+        LanguageDictionary english = new LanguageDictionary(LanguageProviderFactory.get().getLanguage("en_US"));
+        assertFalse(english.getDeclension().hasGeneratedNounSurfaces());
+        assertNull(english.generateSurfaceFromBase("House", form));
+    }
+
     @Test
     void testBasqueNounDefaultStringFallback() {
         BasqueDeclension decl = (BasqueDeclension)getBasque();
@@ -117,6 +117,41 @@ public class LanguageDeclensionImplsTest extends TestCase {
         }
     }
 
+    /**
+     * Validate that the memoized approximate forms are stable, and that every exact form resolves to itself
+     */
+    public void testApproximateFormsAreStable() {
+        for (HumanLanguage lang : LanguageProviderFactory.get().getAll()) {
+            LanguageDeclension declension = LanguageDeclensionFactory.get().getDeclension(lang);
+
+            for (NounForm form : declension.getAllNounForms()) {
+                NounForm approx = declension.getApproximateNounForm(form.getNumber(), form.getCase(), form.getPossessive(), form.getArticle());
+                assertEquals("Exact noun form didn't resolve to itself in " + lang, form, approx);
+                assertSame("Approximate noun form should be cached in " + lang, approx,
+                        declension.getApproximateNounForm(form.getNumber(), form.getCase(), form.getPossessive(), form.getArticle()));
+            }
+            for (LanguageCase caseType : declension.getAllowedCases()) {
+                for (LanguageNumber number : declension.getAllowedNumbers()) {
+                    NounForm approx = declension.getNounForm(number, caseType);
+                    assertSame("Approximate noun form should be cached in " + lang, approx, declension.getNounForm(number, caseType));
+                }
+            }
+            for (AdjectiveForm form : declension.getAdjectiveForms()) {
+                AdjectiveForm approx = declension.getApproximateAdjectiveForm(form.getStartsWith(), form.getGender(), form.getNumber(), form.getCase(), form.getArticle(), form.getPossessive());
+                assertEquals("Exact adjective form didn't resolve to itself in " + lang, form, approx);
+                assertSame("Approximate adjective form should be cached in " + lang, approx,
+                        declension.getApproximateAdjectiveForm(form.getStartsWith(), form.getGender(), form.getNumber(), form.getCase(), form.getArticle(), form.getPossessive()));
+            }
+            if (declension.hasArticle()) {
+                for (ArticleForm form : declension.getArticleForms()) {
+                    ArticleForm approx = declension.getApproximateArticleForm(form.getStartsWith(), form.getGender(), form.getNumber(), form.getCase());
+                    assertSame("Approximate article form should be cached in " + lang, approx,
+                            declension.getApproximateArticleForm(form.getStartsWith(), form.getGender(), form.getNumber(), form.getCase()));
+                }
+            }
+        }
+    }
+
     /**
      * Validate that if the declension says something matters for the form, that the form for the noun includes that.
      *
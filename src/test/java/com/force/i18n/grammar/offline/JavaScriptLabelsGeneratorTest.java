@@ -19,13 +19,22 @@ package com.force.i18n.grammar.offline;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
 import java.net.URL;
-import java.nio.file.Paths;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import org.junit.*;
 import org.junit.rules.TemporaryFolder;
 
+import com.force.i18n.HumanLanguage;
+import com.force.i18n.LabelSetDescriptorImpl;
+import com.force.i18n.LanguageProviderFactory;
 import com.force.i18n.grammar.parser.BaseGrammaticalLabelTest;
+import com.force.i18n.grammar.parser.GrammaticalLabelSetLoader;
 
 
 
@@ -80,4 +89,97 @@ public class JavaScriptLabelsGeneratorTest {
         Assert.assertFalse(exists("zh"));
         Assert.assertFalse(exists("zh_HK"));
     }
+
+    @Test
+    public void generateIncrementally() throws Exception {
+        URL baseDir = BaseGrammaticalLabelTest.getLabelDirURL();
+        AtomicInteger written = new AtomicInteger();
+        JavaScriptLabelsGenerator gen = new JavaScriptLabelsGenerator(Paths.get(baseDir.toURI()).toFile()) {
+            @Override
+            protected String writeLanguage(HumanLanguage language, File outDir, boolean shouldGenerateComment, boolean shouldGenerateAllNames) {
+                written.incrementAndGet();
+                return super.writeLanguage(language, outDir, shouldGenerateComment, shouldGenerateAllNames);
+            }
+        };
+        gen.setParallelism(2);
+        gen.setIncremental(true);
+        gen.setHashedFileNames(true);
+
+        gen.generateLabels(tempFolder.getRoot(), false, false);
+        int generated = written.get();
+        Assert.assertTrue(generated > 0);
+        Assert.assertFalse(exists("en"));
+
+        Properties manifest = new Properties();
+        try (Reader in = Files.newBufferedReader(tempFolder.getRoot().toPath().resolve("grammaticus-js.manifest"))) {
+            manifest.load(in);
+        }
+        String enFile = manifest.getProperty("en.file");
+        Assert.assertTrue(enFile, enFile.matches("en\\.[0-9a-f]{16}\\.js"));
+        Assert.assertTrue(new File(tempFolder.getRoot(), enFile).isFile());
+        Assert.assertNotNull(manifest.getProperty("en_GB.source"));
+
+        // Nothing changed, so nothing is written
+        gen.generateLabels(tempFolder.getRoot(), false, false);
+        Assert.assertEquals(generated, written.get());
+
+        // Different options mean different output
+        gen.generateLabels(tempFolder.getRoot(), true, false);
+        Assert.assertEquals(generated * 2, written.get());
+
+        // Including the file names
+        gen.setHashedFileNames(false);
+        gen.generateLabels(tempFolder.getRoot(), true, false);
+        Assert.assertEquals(generated * 3, written.get());
+        Assert.assertTrue(exists("en"));
+        try (Reader in = Files.newBufferedReader(tempFolder.getRoot().toPath().resolve("grammaticus-js.manifest"))) {
+            manifest.load(in);
+        }
+        Assert.assertEquals("en.js", manifest.getProperty("en.file"));
+    }
+
+    @Test
+    public void generateIncrementallyWithParent() throws Exception {
+        File parentDir = tempFolder.newFolder("parent");
+        File childDir = tempFolder.newFolder("child");
+        File outDir = tempFolder.newFolder("out");
+        copyDirectory(Paths.get(getClass().getResource("/labels/labels.xml").toURI()).getParent(), parentDir.toPath());
+        copyDirectory(Paths.get(getClass().getResource("/override/override.xml").toURI()).getParent(), childDir.toPath());
+
+        GrammaticalLabelSetLoader parent = new GrammaticalLabelSetLoader(new File(parentDir, "labels.xml").toURI().toURL(), "test1", null);
+        AtomicInteger written = new AtomicInteger();
+        JavaScriptLabelsGenerator gen = new JavaScriptLabelsGenerator(new LabelSetDescriptorImpl(
+                childDir.toURI().toURL(), LanguageProviderFactory.get().getBaseLanguage(), "test2", "labels.xml", "names.xml"), parent) {
+            @Override
+            protected String writeLanguage(HumanLanguage language, File outDir, boolean shouldGenerateComment, boolean shouldGenerateAllNames) {
+                written.incrementAndGet();
+                return super.writeLanguage(language, outDir, shouldGenerateComment, shouldGenerateAllNames);
+            }
+        };
+        gen.setIncremental(true);
+        gen.generateLabels(outDir, false, false);
+        int generated = written.get();
+        Assert.assertTrue(generated > 0);
+        gen.generateLabels(outDir, false, false);
+        Assert.assertEquals(generated, written.get());
+
+        // A change to the labels of the parent is a change to the output
+        Path parentLabels = parentDir.toPath().resolve("labels.xml");
+        Files.write(parentLabels, (new String(Files.readAllBytes(parentLabels), StandardCharsets.UTF_8) + "\n").getBytes(StandardCharsets.UTF_8));
+        gen.generateLabels(outDir, false, false);
+        Assert.assertEquals(generated * 2, written.get());
+    }
+
+    private static void copyDirectory(Path from, Path to) throws IOException {
+        try (Stream<Path> files = Files.walk(from)) {
+            for (Path file : (Iterable<Path>)files::iterator) {
+                Path target = to.resolve(from.relativize(file).toString());
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
 }
@@ -17,6 +17,8 @@
 
 package com.force.i18n.grammar.offline;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -66,11 +68,32 @@ public class JsonSerializationTest extends BaseGrammaticalLabelTest {
         	expectedTerms = ImmutableSet.of(dict.getNoun("account", false), dict.getAdjective("eul"), dict.getAdjective("new"));
         }
         Assert.assertEquals("Terms did not match", expectedTerms, termsInUse);
+        Assert.assertEquals(expectedTerms, set.getUsedTerms(Collections.singleton("Sample.click_here_to_create_new_account")));
+
+        // The byte version writes the same json, from the same cached labels
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        set.writeJson(bytes, Collections.singleton("Sample.click_here_to_create_new_account"), null);
+        Assert.assertEquals(label, bytes.toString(StandardCharsets.UTF_8));
+        StringBuilder section = new StringBuilder();
+        set.writeJson(section, Collections.singleton("Sample"), null);
+        bytes.reset();
+        set.writeJson(bytes, Collections.singleton("Sample"), null);
+        Assert.assertEquals(section.toString(), bytes.toString(StandardCharsets.UTF_8));
 
         sb = new StringBuilder();
         dict.writeJson(sb, false, termsInUse.stream().map(a->a.getName()).collect(Collectors.toList()));
         Assert.assertEquals(terms, sb.toString());
 
+        // The kept json of each term is the same as writing it, and is reused
+        for (GrammaticalTerm term : expectedTerms) {
+            StringBuilder json = new StringBuilder("\"").append(term.getName().toLowerCase()).append("\":");
+            term.toJson(json);
+            Assert.assertEquals(json.toString(), term.getJsonEntry());
+            Assert.assertSame(term.getJsonEntry(), term.getJsonEntry());
+        }
+        sb = new StringBuilder();
+        dict.writeJson(sb, false, termsInUse.stream().map(a->a.getName()).collect(Collectors.toList()));
+        Assert.assertEquals(terms, sb.toString());
 	}
 
 	@Test
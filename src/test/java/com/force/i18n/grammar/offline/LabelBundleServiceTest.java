@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2025, Salesforce, Inc.
+ * SPDX-License-Identifier: Apache-2
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.force.i18n.grammar.offline;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+import com.force.i18n.HumanLanguage;
+import com.force.i18n.LanguageProviderFactory;
+import com.force.i18n.grammar.*;
+import com.force.i18n.grammar.offline.LabelBundleService.LabelBundle;
+import com.force.i18n.grammar.parser.BaseGrammaticalLabelTest;
+import com.force.i18n.grammar.parser.GrammaticalLabelSetLoader;
+
+/**
+ * Tests for the cached label bundles
+ */
+public class LabelBundleServiceTest extends BaseGrammaticalLabelTest {
+
+    public LabelBundleServiceTest(String name) {
+        super(name);
+    }
+
+    public void testBundle() throws IOException {
+        GrammaticalLabelSetLoader loader = new GrammaticalLabelSetLoader(getDescriptor());
+        HumanLanguage german = LanguageProviderFactory.get().getLanguage(Locale.GERMAN);
+        LabelBundleService service = new LabelBundleService(loader, 10);
+
+        List<String> keys = Arrays.asList("Sample.click_here_to_create_new_account", "Sample.created_by");
+        LabelBundle bundle = service.getBundle(german, keys);
+
+        // Same contents as writing the labels and terms directly
+        GrammaticalLabelSet set = loader.getSet(german);
+        StringBuilder expected = new StringBuilder("{\"labels\":");
+        Set<GrammaticalTerm> terms = new HashSet<>();
+        set.writeJson(expected, keys, terms);
+        expected.append(",\"terms\":");
+        set.getDictionary().writeJsonTerms(expected, false, terms);
+        expected.append("}");
+        assertEquals(expected.toString(), new String(bundle.getJson(), StandardCharsets.UTF_8));
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bundle.getGzip()))) {
+            assertTrue(Arrays.equals(bundle.getJson(), in.readAllBytes()));
+        }
+        assertEquals("\"" + bundle.getHash() + "\"", bundle.getETag());
+
+        // Order of the keys doesn't matter, and the bundle is reused
+        assertSame(bundle, service.getBundle(german, Arrays.asList("Sample.created_by", "Sample.click_here_to_create_new_account")));
+        assertEquals(LabelBundleService.fingerprint(keys), LabelBundleService.fingerprint(new TreeSet<>(keys)));
+
+        LabelBundle other = service.getBundle(german, Collections.singleton("Sample.created_by"));
+        assertNotSame(bundle, other);
+        assertFalse(bundle.getHash().equals(other.getHash()));
+        service.invalidateAll();
+        LabelBundle rebuilt = service.getBundle(german, keys);
+        assertNotSame(bundle, rebuilt);
+        assertEquals(bundle.getETag(), rebuilt.getETag());
+    }
+
+    public void testBundleGeneration() {
+        GrammaticalLabelSetLoader loader = new GrammaticalLabelSetLoader(getDescriptor());
+        HumanLanguage german = LanguageProviderFactory.get().getLanguage(Locale.GERMAN);
+        LabelBundleService service = new LabelBundleService(loader, 10);
+        List<String> keys = Collections.singletonList("Sample.created_by");
+
+        LabelBundle bundle = service.getBundle(german, keys);
+        assertSame(bundle, service.getBundle(german, keys));
+
+        // Reloaded labels have the same last modified time, but get a new bundle
+        loader.resetMap();
+        LabelBundle reloaded = service.getBundle(german, keys);
+        assertNotSame(bundle, reloaded);
+        assertEquals(bundle.getETag(), reloaded.getETag());
+
+        // Each label version gets its own bundle
+        RenamingProvider curProvider = RenamingProviderFactory.get().getProvider();
+        try {
+            MockRenamingProvider newProvider = new MockRenamingProvider();
+            newProvider.setLabelVersion(2.0);
+            RenamingProviderFactory.get().setProvider(newProvider);
+            LabelBundle versioned = service.getBundle(german, keys);
+            assertNotSame(reloaded, versioned);
+            assertSame(versioned, service.getBundle(german, keys));
+        } finally {
+            RenamingProviderFactory.get().setProvider(curProvider);
+        }
+    }
+}
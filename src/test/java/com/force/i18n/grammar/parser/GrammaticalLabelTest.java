@@ -19,17 +19,25 @@ package com.force.i18n.grammar.parser;
 
 import static org.junit.Assert.assertThrows;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
 import java.lang.reflect.Field;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.*;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import com.force.i18n.*;
 import com.force.i18n.LanguageLabelSetDescriptor.GrammaticalLabelSetDescriptor;
+import com.force.i18n.commons.text.TextUtil;
 import com.force.i18n.grammar.*;
 import com.force.i18n.grammar.AbstractLanguageDeclension.PluralNounForm;
 import com.force.i18n.grammar.AbstractLanguageDeclension.SimpleModifierForm;
@@ -37,6 +45,9 @@ import com.force.i18n.grammar.GrammaticalLabelSet.GrammaticalLabelSetComposite;
 import com.force.i18n.grammar.GrammaticalLabelSetFallbackImpl.ImmutableMapUnion;
 import com.force.i18n.grammar.GrammaticalTerm.TermType;
 import com.force.i18n.grammar.impl.LanguageDeclensionFactory;
+import com.force.i18n.grammar.impl.OverlayGrammaticalTermMap;
+import com.force.i18n.settings.LabelHandle;
+import com.force.i18n.settings.MapPropertyFileData;
 import com.force.i18n.settings.PropertyFileData;
 import com.force.i18n.settings.SettingsSectionNotFoundException;
 import com.google.common.base.Joiner;
@@ -69,6 +80,244 @@ public class GrammaticalLabelTest extends BaseGrammaticalLabelTest {
 
     }
 
+    public void testLabelHandles() {
+        GrammaticalLabelSetLoader loader = new GrammaticalLabelSetLoader(getDescriptor());
+        HumanLanguage ENGLISH = LanguageProviderFactory.get().getLanguage(Locale.US);
+        HumanLanguage ENGLISH_CA = LanguageProviderFactory.get().getLanguage(Locale.CANADA);
+        HumanLanguage GERMAN = LanguageProviderFactory.get().getLanguage(Locale.GERMAN);
+        GrammaticalLabelSet english = loader.getSet(ENGLISH);
+        GrammaticalLabelSet englishCa = loader.getSet(ENGLISH_CA);
+        GrammaticalLabelSet german = loader.getSet(GERMAN);
+
+        // Resolved once, usable for every language from the same loader
+        LabelHandle handle = english.getLabelHandle("Sample", "click_here_to_create_new_account");
+        assertTrue(handle.isResolved());
+        assertEquals(handle, german.getLabelHandle("Sample", "click_here_to_create_new_account"));
+        for (GrammaticalLabelSet set : Arrays.asList(english, englishCa, german)) {
+            assertEquals(set.get("Sample", "click_here_to_create_new_account"), set.get(handle));
+            assertEquals(set.getString("Sample", "click_here_to_create_new_account"), set.getString(handle));
+            assertEquals(set.getString("Sample", null, "click_here_to_create_new_account", true), set.getString(handle, null, true));
+        }
+
+        // Unresolved handles use the strings
+        LabelHandle byName = LabelHandle.unresolved("Sample", "click_here_to_create_new_account");
+        assertFalse(byName.isResolved());
+        assertEquals(-1L, byName.getIndex());
+        assertEquals(german.getString(handle), german.getString(byName));
+
+        // Missing labels behave like the string versions
+        assertEquals("__MISSING LABEL__ PropertyFile - val invalid not found in section Sample",
+                englishCa.getString(englishCa.getLabelHandle("Sample", "invalid")));
+        try {
+            german.get(german.getLabelHandle("invalid", "invalid"));
+            fail();
+        } catch (SettingsSectionNotFoundException ex) {}
+    }
+
+    public void testLabelsUsingTerm() {
+        GrammaticalLabelSetLoader loader = new GrammaticalLabelSetLoader(getDescriptor());
+        HumanLanguage ENGLISH = LanguageProviderFactory.get().getLanguage(Locale.US);
+        HumanLanguage ENGLISH_CA = LanguageProviderFactory.get().getLanguage(Locale.CANADA);
+        GrammaticalLabelSet english = loader.getSet(ENGLISH);
+        GrammaticalLabelSet englishCa = loader.getSet(ENGLISH_CA);
+
+        for (GrammaticalLabelSet set : Arrays.asList(english, englishCa)) {
+            List<LabelHandle> labels = set.getLabelsUsingTerm(TermType.Noun, "Account");
+            assertTrue(labels.contains(set.getLabelHandle("Sample", "click_here_to_create_new_account")));
+            assertEquals(labels, set.getLabelsUsingTerm(TermType.Noun, "account"));
+
+            // Matches the forward direction for every label
+            for (String key : set.getParams("Sample")) {
+                boolean usesAccount = set.getUsedTerms(Collections.singleton("Sample." + key)).stream()
+                        .anyMatch(t -> t instanceof Noun && "account".equalsIgnoreCase(t.getName()));
+                assertEquals(key, usesAccount, labels.contains(set.getLabelHandle("Sample", key)));
+            }
+            assertEquals(Collections.emptyList(), set.getLabelsUsingTerm(TermType.Adjective, "account"));
+            assertEquals(Collections.emptyList(), set.getLabelsUsingTerm(TermType.Noun, "no such noun"));
+        }
+    }
+
+    public void testLabelsUsingTermThroughAlias() {
+        GrammaticalLabelSetLoader loader = new GrammaticalLabelSetLoader(getDescriptor());
+        HumanLanguage ENGLISH = LanguageProviderFactory.get().getLanguage(Locale.US);
+        GrammaticalLabelSet english = loader.getSet(ENGLISH);
+
+        // A set that only has an alias of a label of its fallback set
+        MapPropertyFileData data = new MapPropertyFileData(Locale.US);
+        data.put("Aliases", "create_account", new LabelRef("Sample", "click_here_to_create_new_account"));
+        data.put("Aliases", "missing", new LabelRef("Sample", "no_such_label"));
+        GrammaticalLabelSetImpl main = new GrammaticalLabelSetImpl(english.getDictionary(), data, null, Collections.emptySet()) {
+            private static final long serialVersionUID = 1L;
+        };
+        GrammaticalLabelSet composite = new GrammaticalLabelSetFallbackImpl(main, english);
+
+        List<LabelHandle> labels = composite.getLabelsUsingTerm(TermType.Noun, "Account");
+        assertTrue(labels.contains(LabelHandle.unresolved("Sample", "click_here_to_create_new_account")));
+        assertTrue(labels.contains(LabelHandle.unresolved("Aliases", "create_account")));
+        assertFalse(labels.contains(LabelHandle.unresolved("Aliases", "missing")));
+        assertEquals(Collections.emptyList(), main.getLabelsUsingTerm(TermType.Noun, "Account"));
+
+        // An alias of the fallback set depends on the main value of its target
+        Object accountValue = english.getPropertyFileData().get("Sample", "click_here_to_create_new_account");
+        LabelHandle target = LabelHandle.unresolved("Sample", "target");
+        LabelHandle alias = LabelHandle.unresolved("Aliases", "alias");
+        for (boolean mainUsesAccount : new boolean[] {false, true}) {
+            MapPropertyFileData fallbackData = new MapPropertyFileData(Locale.US);
+            fallbackData.put("Sample", "target", mainUsesAccount ? "Plain" : accountValue);
+            fallbackData.put("Aliases", "alias", new LabelRef("Sample", "target"));
+            MapPropertyFileData mainData = new MapPropertyFileData(Locale.US);
+            mainData.put("Sample", "target", mainUsesAccount ? accountValue : "Plain");
+            GrammaticalLabelSetImpl fallbackSet = new GrammaticalLabelSetImpl(english.getDictionary(), fallbackData, null, Collections.emptySet()) {
+                private static final long serialVersionUID = 1L;
+            };
+            GrammaticalLabelSetImpl mainSet = new GrammaticalLabelSetImpl(english.getDictionary(), mainData, null, Collections.emptySet()) {
+                private static final long serialVersionUID = 1L;
+            };
+            GrammaticalLabelSet overridden = new GrammaticalLabelSetFallbackImpl(mainSet, fallbackSet);
+            assertEquals(overridden.getString("Sample", "target"), overridden.getString("Aliases", "alias"));
+            // The fallback set alone only knows its own value of the target
+            assertEquals(!mainUsesAccount, fallbackSet.getLabelsUsingTerm(TermType.Noun, "Account").contains(alias));
+            labels = overridden.getLabelsUsingTerm(TermType.Noun, "Account");
+            assertEquals(mainUsesAccount, labels.contains(target));
+            assertEquals(mainUsesAccount, labels.contains(alias));
+        }
+    }
+
+    public void testFootprint() {
+        GrammaticalLabelSetLoader loader = new GrammaticalLabelSetLoader(getDescriptor());
+        HumanLanguage ENGLISH = LanguageProviderFactory.get().getLanguage(Locale.US);
+        HumanLanguage ENGLISH_GB = LanguageProviderFactory.get().getLanguage(Locale.UK);
+        GrammaticalLabelSet english = loader.getSet(ENGLISH);
+
+        Footprint footprint = english.footprint();
+        assertTrue(footprint.getSections().get("Sample") > 0);
+        assertEquals(english.getPropertyFileData().getSectionNames(), footprint.getSections().keySet());
+        assertTrue(footprint.getTerms().get(TermType.Noun) > 0);
+        assertTrue(footprint.getTerms().get(TermType.Adjective) > 0);
+        assertTrue(footprint.getKeyIndex() > 0);
+        assertTrue(footprint.getRefTags() > 0);
+        assertTrue(Footprint.getRefTagPools() >= footprint.getRefTags());
+        assertEquals(footprint.getLabels() + footprint.getKeyIndex() + footprint.getRefTags()
+                + footprint.getTerms().values().stream().mapToLong(Long::longValue).sum(), footprint.getTotal());
+        assertEquals(footprint.getTotal(), english.footprint().getTotal());
+
+        // A regional variant only counts its own labels, and shares the key index.  It isn't loaded to get it.
+        assertFalse(loader.getFootprint(ENGLISH_GB).isPresent());
+        assertFalse(loader.isLoaded(ENGLISH_GB));
+        loader.getSet(ENGLISH_GB);
+        Footprint british = loader.getFootprint(ENGLISH_GB).get();
+        assertTrue(british.getLabels() < footprint.getLabels());
+        assertTrue(loader.getFootprint(ENGLISH).get().getKeyIndex() < footprint.getKeyIndex());
+    }
+
+    public void testWarmupProfile() throws IOException {
+        HumanLanguage ENGLISH_GB = LanguageProviderFactory.get().getLanguage(LanguageConstants.ENGLISH_GB);
+        HumanLanguage ENGLISH_AU = LanguageProviderFactory.get().getLanguage(LanguageConstants.ENGLISH_AU);
+        GrammaticalLabelSetLoader loader = new GrammaticalLabelSetLoader(getDescriptor());
+        LabelUsageTracking original = LabelUsage.get();
+        LabelUsageCounter counter = new LabelUsageCounter();
+        LabelUsage.set(counter);
+        try {
+            GrammaticalLabelSet set = loader.getSet(ENGLISH_AU);
+            for (int i = 0; i < 3; i++) {
+                set.getString("Sample", "click_here_to_create_new_account");
+            }
+            set.getString("Sample", "created_by");
+        } finally {
+            LabelUsage.set(original);
+        }
+
+        WarmupProfile profile = loader.getWarmupProfile(counter, 1);
+        assertEquals(Arrays.asList(getDescriptor().getLanguage().getLocaleString(), ENGLISH_GB.getLocaleString(),
+                ENGLISH_AU.getLocaleString()), profile.getLanguages());
+        assertEquals(1, profile.getLabels().size());
+        assertEquals("click_here_to_create_new_account", profile.getLabels().get(0).getKey());
+
+        StringBuilder text = new StringBuilder("# edited\nlanguage\tzz_ZZ\nlabel\tSample\tno_such_label\n");
+        profile.write(text);
+        WarmupProfile read = WarmupProfile.read(new StringReader(text.toString()));
+        assertEquals(4, read.getLanguages().size());
+        assertEquals(profile.getLanguages(), read.getLanguages().subList(1, 4));
+        assertEquals("Sample.click_here_to_create_new_account", read.getLabels().get(1).toString());
+
+        // Unknown languages and labels are skipped, and warming up isn't a use of the labels
+        GrammaticalLabelSetLoader newLoader = new GrammaticalLabelSetLoader(getDescriptor());
+        counter.reset();
+        LabelUsage.set(counter);
+        try {
+            assertEquals(3, newLoader.warmUp(read));
+        } finally {
+            LabelUsage.set(original);
+        }
+        assertTrue(newLoader.isLoaded(ENGLISH_AU));
+        assertEquals(0, counter.getCount("Sample", "click_here_to_create_new_account"));
+        assertTrue(counter.getUsedLabels().isEmpty());
+    }
+
+    /**
+     * Languages are captured by how much they're used, and a loader with a parent warms up its parent's sets too
+     */
+    public void testWarmupWithParent() {
+        HumanLanguage ENGLISH = LanguageProviderFactory.get().getLanguage(Locale.US);
+        HumanLanguage ENGLISH_GB = LanguageProviderFactory.get().getLanguage(Locale.UK);
+        HumanLanguage JAPANESE = LanguageProviderFactory.get().getLanguage(Locale.JAPANESE);
+        URL base = GrammaticalLabelFileTest.class.getResource("/labels/labels.xml");
+        URL overrides = GrammaticalLabelFileTest.class.getResource("/override/override.xml");
+        GrammaticalLabelSetLoader loader = new GrammaticalLabelSetLoader(overrides, "test2",
+                new GrammaticalLabelSetLoader(base, "test1", null));
+        loader.getSet(ENGLISH_GB);
+        for (int i = 0; i < 3; i++) {
+            loader.getSet(JAPANESE);
+        }
+        WarmupProfile profile = new WarmupProfile(loader.getWarmupProfile(new LabelUsageCounter(), 0).getLanguages(),
+                Arrays.asList(new LabelRef("Icons", "colorPicker"), new LabelRef("Poker", "AA"), new LabelRef("Poker", "rule1")));
+        assertEquals(Arrays.asList(ENGLISH.getLocaleString(), JAPANESE.getLocaleString(), ENGLISH_GB.getLocaleString()),
+                profile.getLanguages());
+
+        GrammaticalLabelSetLoader baseLoader = new GrammaticalLabelSetLoader(base, "test1", null);
+        loader = new GrammaticalLabelSetLoader(overrides, "test2", baseLoader);
+        LabelUsageTracking original = LabelUsage.get();
+        LabelUsageCounter counter = new LabelUsageCounter();
+        LabelUsage.set(counter);
+        try {
+            assertEquals(9, loader.warmUp(profile));
+        } finally {
+            LabelUsage.set(original);
+        }
+        assertTrue(baseLoader.isLoaded(JAPANESE));
+        assertTrue(loader.isLoaded(JAPANESE));
+        assertTrue(counter.getUsedLabels().isEmpty());
+        // Warming up isn't a use of the languages either, so they're in order of name
+        assertEquals(Arrays.asList(ENGLISH.getLocaleString(), ENGLISH_GB.getLocaleString(), JAPANESE.getLocaleString()),
+                loader.getWarmupProfile(counter, 0).getLanguages());
+    }
+
+    public void testEncodedLabels() throws IOException {
+        GrammaticalLabelSetLoader loader = new GrammaticalLabelSetLoader(getDescriptor());
+        GrammaticalLabelSet set = loader.getSet(LanguageProviderFactory.get().getLanguage(Locale.US));
+
+        // An alias to static text is encoded once and then shared
+        LabelHandle createdBy = set.getLabelHandle("Sample", "created_by");
+        byte[] utf8 = set.getUtf8(createdBy, false);
+        assertEquals("Created by...", new String(utf8, StandardCharsets.UTF_8));
+        assertSame(utf8, set.getUtf8(createdBy, false));
+
+        // Labels with terms are rendered every time
+        LabelHandle withNoun = set.getLabelHandle("Sample", "click_here_to_create_new_account");
+        String text = set.getString(withNoun);
+        assertEquals(text, new String(set.getUtf8(withNoun, false), StandardCharsets.UTF_8));
+        assertEquals(TextUtil.escapeToHtml(text),
+                new String(set.getUtf8(withNoun, true), StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        set.writeTo(createdBy, true, out);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        set.writeTo(createdBy, true, buffer);
+        assertTrue(Arrays.equals(out.toByteArray(), Arrays.copyOf(buffer.array(), buffer.position())));
+        assertEquals("__MISSING LABEL__ PropertyFile - val invalid not found in section Sample",
+                new String(set.getUtf8(set.getLabelHandle("Sample", "invalid"), false), StandardCharsets.UTF_8));
+    }
+
     /**
      * Sample test for validating that the "startsWith" value for a noun is correct.
      */
@@ -349,6 +598,68 @@ public class GrammaticalLabelTest extends BaseGrammaticalLabelTest {
     }
 
 
+    /**
+     * Validate that a child label set whose dictionary overlays the parent's has the same terms and labels as one
+     * that copies the parent's terms, while only holding its own
+     */
+    public void testOverlayParent() throws IOException {
+        URL base = GrammaticalLabelFileTest.class.getResource("/sample/labels.xml");
+        GrammaticalLabelSetLoader baseLoader = new GrammaticalLabelSetLoader(base, "sample", null);
+        URL labels = GrammaticalLabelFileTest.class.getResource("/labels/labels.xml");
+        GrammaticalLabelSetLoader labelsLoader = new GrammaticalLabelSetLoader(labels, "test1o", baseLoader);
+        URL overrides = GrammaticalLabelFileTest.class.getResource("/override/override.xml");
+        GrammaticalLabelSetDescriptor desc = new LabelSetDescriptorImpl(overrides, LanguageProviderFactory.get().getBaseLanguage(), "test2o");
+        GrammaticalLabelSetLoader copying = new GrammaticalLabelSetLoader(new LabelSetLoaderConfig(desc, labelsLoader).setOverlayParent(false));
+        GrammaticalLabelSetLoader overlaid = new GrammaticalLabelSetLoader(new LabelSetLoaderConfig(desc, labelsLoader).setOverlayParent(true));
+
+        for (Locale locale : new Locale[] {Locale.US, Locale.UK, Locale.GERMAN, Locale.JAPANESE}) {
+            HumanLanguage language = LanguageProviderFactory.get().getLanguage(locale);
+            GrammaticalLabelSet expected = copying.getSet(language);
+            GrammaticalLabelSet actual = overlaid.getSet(language);
+            LanguageDictionary expectedDict = expected.getDictionary();
+            LanguageDictionary actualDict = actual.getDictionary();
+            assertTrue(actualDict.getNounMap() instanceof OverlayGrammaticalTermMap);
+
+            for (TermType type : TermType.values()) {
+                assertEquals(locale + " " + type, expectedDict.getAllTermNames(type), actualDict.getAllTermNames(type));
+                for (String name : expectedDict.getAllTermNames(type)) {
+                    assertEquals(locale + " " + name, expectedDict.getTerm(name).getJsonEntry(), actualDict.getTerm(name).getJsonEntry());
+                }
+            }
+            // The maps may write the terms in another order, so compare the JSON of each term, and that there are no others
+            for (TermType type : TermType.values()) {
+                for (String name : expectedDict.getAllTermNames(type)) {
+                    assertEquals(locale + " " + name, writeJson(expectedDict, new HashSet<>(Set.of(name))),
+                            writeJson(actualDict, new HashSet<>(Set.of(name))));
+                }
+            }
+            assertEquals(locale.toString(), writeJson(expectedDict, null).length(), writeJson(actualDict, null).length());
+
+            for (String section : expected.sectionNames()) {
+                for (String key : expected.getParams(section, Collections.emptySet())) {
+                    assertEquals(locale + " " + section + "." + key, renderOrError(expected, section, key), renderOrError(actual, section, key));
+                }
+            }
+            assertTrue(actualDict.footprint().getTotal() < expectedDict.footprint().getTotal());
+        }
+    }
+
+    // The terms to include are removed as they're written
+    private static String writeJson(LanguageDictionary dictionary, Set<String> termsToInclude) throws IOException {
+        StringBuilder result = new StringBuilder();
+        dictionary.writeJson(result, false, termsToInclude);
+        return result.toString();
+    }
+
+    // Labels that refer to a missing label fail the same way in both sets
+    private static String renderOrError(GrammaticalLabelSet set, String section, String key) {
+        try {
+            return set.getString(section, key);
+        } catch (RuntimeException ex) {
+            return ex.toString();
+        }
+    }
+
     /**
      * Test behavior of {@link GrammaticalLabelSetLoader#setUseTranslatedLanguage(boolean)}
      * @throws Exception
@@ -553,6 +864,13 @@ public class GrammaticalLabelTest extends BaseGrammaticalLabelTest {
         // any other number should be fine
         assertEquals(config, config.setCacheMaxSize(3));
         assertEquals(3, config.getCacheMaxSize());
+
+        // max weight and heap percent.  negative becomes 0, and the percent is at most 100
+        assertEquals(config, config.setCacheMaxWeight(-5));
+        assertEquals(0, config.getCacheMaxWeight());
+        assertEquals(config, config.setEvictIdleAtHeapPercent(150));
+        assertEquals(100, config.getEvictIdleAtHeapPercent());
+        assertEquals(0, config.setEvictIdleAtHeapPercent(-1).getEvictIdleAtHeapPercent());
     }
 
     @Test
@@ -621,4 +939,127 @@ public class GrammaticalLabelTest extends BaseGrammaticalLabelTest {
         assertEquals(3, loader.getCache().size());
         assertNotNull(loader.getCache().getIfPresent(desc.getForOtherLanguage(GERMAN)));
     }
+
+    @Test
+    public void testCacheWeight() {
+        HumanLanguage ENGLISH_GB = LanguageProviderFactory.get().getLanguage(LanguageConstants.ENGLISH_GB);
+        HumanLanguage ENGLISH_AU = LanguageProviderFactory.get().getLanguage(LanguageConstants.ENGLISH_AU);
+        GrammaticalLabelSetDescriptor desc = getDescriptor();
+
+        // Fallback languages weigh nothing only while a language that depends on them is cached
+        LabelSetLoaderConfig config = new LabelSetLoaderConfig(desc, null).setCacheMaxWeight(Long.MAX_VALUE);
+        GrammaticalLabelSetLoader loader = new GrammaticalLabelSetLoader(config);
+        loader.getSet(ENGLISH_AU);
+        GrammaticalLabelSetDescriptor gbDesc = loader.getDescriptor(ENGLISH_GB);
+        GrammaticalLabelSet gbSet = loader.getCache().getIfPresent(gbDesc);
+        assertEquals(0, loader.weigh(gbDesc, gbSet));
+        assertEquals(0, loader.weigh(desc, loader.getCache().getIfPresent(desc)));
+        GrammaticalLabelSetDescriptor auDesc = loader.getDescriptor(ENGLISH_AU);
+        assertTrue(loader.weigh(auDesc, loader.getCache().getIfPresent(auDesc)) > 0);
+        loader.resetMap(Collections.singleton(ENGLISH_AU), false);
+        assertTrue(loader.weigh(gbDesc, gbSet) > 0);
+        // Languages that only other, unloaded, languages fall back to can be evicted
+        HumanLanguage GERMAN = LanguageProviderFactory.get().getLanguage(LanguageConstants.GERMAN);
+        loader.getSet(GERMAN);
+        GrammaticalLabelSetDescriptor deDesc = loader.getDescriptor(GERMAN);
+        assertTrue(loader.weigh(deDesc, loader.getCache().getIfPresent(deDesc)) > 0);
+
+        // Everything but the base language is over the budget, as no language stays to depend on en_GB
+        config.setCaffeine(false).setCacheMaxWeight(1);
+        loader = new GrammaticalLabelSetLoader(config);
+        assertNotNull(loader.getSet(ENGLISH_AU));
+        assertTrue(loader.isLoaded(desc.getLanguage()));
+        assertFalse(loader.isLoaded(ENGLISH_GB));
+        assertFalse(loader.isLoaded(ENGLISH_AU));
+
+        config.setCaffeine(true);
+        loader = new GrammaticalLabelSetLoader(config);
+        assertNotNull(loader.getSet(ENGLISH_AU));
+        loader.getCache().cleanUp();
+        assertTrue(loader.isLoaded(desc.getLanguage()));
+        assertFalse(loader.isLoaded(ENGLISH_AU));
+
+        // Idle languages can be evicted, and then the languages they fall back to, but not the base language
+        Map<String, Long> thresholds = getCollectionUsageThresholds();
+        config.setCaffeine(true).setCacheMaxWeight(0).setEvictIdleAtHeapPercent(95);
+        loader = new GrammaticalLabelSetLoader(config);
+        try {
+            loader.getSet(ENGLISH_AU);
+            assertEquals(0, loader.evictIdleLanguages(Duration.ofHours(1)));
+            assertEquals(2, loader.evictIdleLanguages(Duration.ZERO));
+            assertTrue(loader.isLoaded(desc.getLanguage()));
+            assertFalse(loader.isLoaded(ENGLISH_GB));
+            assertFalse(loader.isLoaded(ENGLISH_AU));
+        } finally {
+            loader.close();
+        }
+        // Closing the loader leaves the heap as it was
+        assertEquals(thresholds, getCollectionUsageThresholds());
+        loader.close();
+        assertEquals(thresholds, getCollectionUsageThresholds());
+    }
+
+    private static Map<String, Long> getCollectionUsageThresholds() {
+        Map<String, Long> result = new HashMap<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.isCollectionUsageThresholdSupported()) {
+                result.put(pool.getName(), pool.getCollectionUsageThreshold());
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testRefresh() throws Exception {
+        HumanLanguage ENGLISH_AU = LanguageProviderFactory.get().getLanguage(LanguageConstants.ENGLISH_AU);
+        GrammaticalLabelSetDescriptor desc = getDescriptor();
+        LabelSetLoaderConfig config = new LabelSetLoaderConfig(desc, null);
+        GrammaticalLabelSetLoader loader = new GrammaticalLabelSetLoader(config);
+
+        // Loads in the background the first time only
+        CompletableFuture<GrammaticalLabelSet> future = loader.getSetAsync(ENGLISH_AU);
+        String label = future.get().getString("Sample", "created_by");
+        assertTrue(loader.isLoaded(ENGLISH_AU));
+        assertTrue(loader.getSetAsync(ENGLISH_AU).isDone());
+
+        // Refreshing replaces the sets, without ever removing them
+        GrammaticalLabelSet english = loader.getCache().getIfPresent(desc);
+        CompletableFuture<Void> refresh = loader.refreshMap(null, true);
+        assertTrue(loader.isLoaded(ENGLISH_AU));
+        refresh.get();
+        assertNotSame(english, loader.getCache().getIfPresent(desc));
+        assertEquals(label, loader.getSet(ENGLISH_AU).getString("Sample", "created_by"));
+        HumanLanguage FRENCH = LanguageProviderFactory.get().getLanguage(LanguageConstants.FRENCH);
+        loader.refreshMap(Collections.singleton(FRENCH), false).get();
+        assertFalse(loader.isLoaded(FRENCH));
+
+        // A stale set is returned until it's reloaded, and languages are reloaded after their fallback languages
+        HumanLanguage ENGLISH_GB = LanguageProviderFactory.get().getLanguage(LanguageConstants.ENGLISH_GB);
+        Queue<Runnable> refreshes = new ConcurrentLinkedQueue<>();
+        for (boolean caffeine : new boolean[] {true, false}) {
+            config.setCaffeine(caffeine).setCacheRefreshAfter(Duration.ofMillis(1));
+            loader = new GrammaticalLabelSetLoader(config) {
+                @Override
+                protected Executor getRefreshExecutor() {
+                    return refreshes::add;
+                }
+            };
+            loader.getSet(ENGLISH_AU);
+            english = loader.getCache().getIfPresent(desc);
+            GrammaticalLabelSet british = loader.getCache().getIfPresent(loader.getDescriptor(ENGLISH_GB));
+            Thread.sleep(5);
+            loader.getSet(ENGLISH_AU);
+            assertSame(english, loader.getCache().getIfPresent(desc));
+            for (int level = 0; level < 3; level++) {
+                assertEquals(1, refreshes.size());
+                refreshes.poll().run();
+                if (level == 0) {
+                    assertNotSame(english, loader.getCache().getIfPresent(desc));
+                    assertSame(british, loader.getCache().getIfPresent(loader.getDescriptor(ENGLISH_GB)));
+                }
+            }
+            assertTrue(refreshes.isEmpty());
+            assertNotSame(british, loader.getCache().getIfPresent(loader.getDescriptor(ENGLISH_GB)));
+        }
+    }
 }
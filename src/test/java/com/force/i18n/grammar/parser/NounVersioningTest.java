@@ -20,11 +20,12 @@ package com.force.i18n.grammar.parser;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
-import java.util.Locale;
+import java.util.*;
 
 import com.force.i18n.HumanLanguage;
 import com.force.i18n.LanguageProviderFactory;
 import com.force.i18n.grammar.*;
+import com.force.i18n.grammar.Noun.NounType;
 
 /**
  * Test of versioning of nouns.
@@ -81,12 +82,86 @@ public class NounVersioningTest extends BaseGrammaticalLabelTest {
             assertEquals("Neuer Account", set.getString("Global", "newAccount"));
             newProvider.setLabelVersion(2.0);
             assertEquals("Neuer Kunde", set.getString("Global", "newAccount"));
+            newProvider.setLabelVersion(2.5);
+            assertEquals("Neuer Kunde", set.getString("Global", "newAccount"));
             newProvider.setLabelVersion(3.0);
             // Make sure it's neuter
             assertEquals("Neues Konto", set.getString("Global", "newAccount"));
+            newProvider.setLabelVersion(10.0);
+            assertEquals("Neues Konto", set.getString("Global", "newAccount"));
+            newProvider.setLabelVersion(Double.NaN);
+            assertEquals("Neuer Account", set.getString("Global", "newAccount"));
+
+        } finally {
+            RenamingProviderFactory.get().setProvider(curProvider);
+        }
+    }
+
+    public void testZeroVersion() throws Exception {
+        final HumanLanguage ENGLISH = LanguageProviderFactory.get().getLanguage(Locale.US);
+        LanguageDictionary dictionary = new GrammaticalLabelSetLoader(getDescriptor()).getSet(ENGLISH).getDictionary();
+        Noun noun = makeEnglishNoun("zeroVersion", NounType.ENTITY, LanguageStartsWith.CONSONANT, "Widget", "Widgets");
+        Noun override = makeEnglishNoun("zeroVersion", NounType.ENTITY, LanguageStartsWith.CONSONANT, "Gadget", "Gadgets");
+        dictionary.setNounOverride(noun, override, 0.0);
+        RenamingProvider curProvider = RenamingProviderFactory.get().getProvider();
+        try {
+            MockRenamingProvider newProvider = new MockRenamingProvider();
+            RenamingProviderFactory.get().setProvider(newProvider);
+            newProvider.setLabelVersion(0.0);
+            assertSame(override, dictionary.getNounOverride(noun));
+            // -0.0 is at least 0.0, even though it sorts before it
+            newProvider.setLabelVersion(-0.0);
+            assertSame(override, dictionary.getNounOverride(noun));
+            newProvider.setLabelVersion(-1.0);
+            assertSame(noun, dictionary.getNounOverride(noun));
+        } finally {
+            RenamingProviderFactory.get().setProvider(curProvider);
+        }
+    }
 
+    public void testJsonByVersion() throws Exception {
+        final HumanLanguage GERMAN = LanguageProviderFactory.get().getLanguage(Locale.GERMAN);
+        GrammaticalLabelSetLoader loader = new GrammaticalLabelSetLoader(getDescriptor());
+        GrammaticalLabelSet set = loader.getSet(GERMAN);
+        Collection<String> keys = Collections.singleton("Global.newAccount");
+        RenamingProvider curProvider = RenamingProviderFactory.get().getProvider();
+        try {
+            MockRenamingProvider newProvider = new MockRenamingProvider();
+            RenamingProviderFactory.get().setProvider(newProvider);
+            newProvider.setLabelVersion(1.0);
+            Collection<? extends GrammaticalTerm> terms1 = set.getUsedTerms(keys);
+            Set<GrammaticalTerm> jsonTerms1 = new HashSet<>();
+            StringBuilder json1 = new StringBuilder();
+            set.writeJson(json1, keys, jsonTerms1);
+
+            newProvider.setLabelVersion(3.0);
+            Collection<? extends GrammaticalTerm> terms3 = set.getUsedTerms(keys);
+            Set<GrammaticalTerm> jsonTerms3 = new HashSet<>();
+            StringBuilder json3 = new StringBuilder();
+            set.writeJson(json3, keys, jsonTerms3);
+
+            assertEquals(LanguageGender.MASCULINE, getNoun(terms1).getGender());
+            assertEquals(LanguageGender.NEUTER, getNoun(terms3).getGender());
+            assertEquals(new HashSet<>(terms1), jsonTerms1);
+            assertEquals(new HashSet<>(terms3), jsonTerms3);
+            assertFalse(json1.toString().equals(json3.toString()));
+
+            // Asking again for the first version doesn't return what was cached for the other one
+            newProvider.setLabelVersion(1.0);
+            assertEquals(new HashSet<>(terms1), new HashSet<>(set.getUsedTerms(keys)));
+            StringBuilder json1Again = new StringBuilder();
+            set.writeJson(json1Again, keys, null);
+            assertEquals(json1.toString(), json1Again.toString());
         } finally {
             RenamingProviderFactory.get().setProvider(curProvider);
         }
     }
+
+    private static Noun getNoun(Collection<? extends GrammaticalTerm> terms) {
+        for (GrammaticalTerm term : terms) {
+            if (term instanceof Noun) return (Noun)term;
+        }
+        fail("No noun in " + terms);
+        return null;
+    }
 }
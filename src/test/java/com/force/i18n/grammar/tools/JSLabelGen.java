@@ -65,6 +65,11 @@ public class JSLabelGen extends JavaScriptLabelsGenerator {
         System.err.println(msg);
     }
 
+    @Override
+    protected void error(String msg, Throwable t) {
+        System.err.println(msg + ": " + t);
+    }
+
     @Command(name="JSLabelGen", mixinStandardHelpOptions = true,
              headerHeading = "Usage:%n%n",
              synopsisHeading = "%n",
@@ -153,6 +153,67 @@ public class SharedKeyMapPropertyFileDataTest extends TestCase {
         assertNull(this.data.remove("section", "param"));
     }
 
+    public void testResolveHandle() throws Exception {
+        SharedKeyMapPropertyFileData data2 = new SharedKeyMapPropertyFileData(Locale.FRENCH, false, this.seed, this.namespaces);
+        assertFalse(this.data.resolveHandle("section", "param").isResolved());
+
+        this.data.put("section", "other", "other value");
+        this.data.put("section", "param", "value");
+        data2.put("section", "param", "valeur");
+        LabelHandle handle = this.data.resolveHandle("section", "param");
+        assertTrue(handle.isResolved());
+        assertEquals(handle.getIndex(), data2.resolveHandle("section", "param").getIndex());
+        assertEquals("value", this.data.get(handle));
+        assertEquals("valeur", data2.get(handle));
+
+        // Keys missing from one language, or from another key space, still work
+        assertNull(data2.get(this.data.resolveHandle("section", "other")));
+        SharedKeyMapPropertyFileData isolated = new SharedKeyMapPropertyFileData(Locale.GERMAN, true,
+                new SharedKeyMap<String, SharedKeyMap<String, Object>>(), this.namespaces);
+        isolated.put("section", "param", "Wert");
+        assertEquals("Wert", isolated.get(handle));
+        assertEquals("valeur", data2.get(LabelHandle.unresolved("section", "param")));
+    }
+
+    public void testShareSections() throws Exception {
+        SharedKeyMapPropertyFileData variant = new SharedKeyMapPropertyFileData(Locale.UK, false, this.seed, this.namespaces);
+        this.data.put("same", "param", "value");
+        this.data.put("same", "other", "other value");
+        this.data.put("different", "param", "value");
+        variant.put("same", "param", "value");
+        variant.put("same", "other", "other value");
+        variant.put("different", "param", "colour");
+
+        assertEquals(1, variant.shareSections(this.data));
+        assertTrue(variant.isShared("same"));
+        assertTrue(this.data.isShared("same"));
+        assertFalse(variant.isShared("different"));
+        assertEquals("value", variant.get("same", "param"));
+        assertEquals("colour", variant.get("different", "param"));
+        assertEquals(0, variant.shareSections(this.data));
+
+        // Changing a shared section, from either side, changes a copy
+        variant.put("same", "param", "changed");
+        assertFalse(variant.isShared("same"));
+        assertEquals("changed", variant.get("same", "param"));
+        assertEquals("other value", variant.get("same", "other"));
+        assertEquals("value", this.data.get("same", "param"));
+
+        SharedKeyMapPropertyFileData variant2 = new SharedKeyMapPropertyFileData(Locale.CANADA, false, this.seed, this.namespaces);
+        variant2.put("same", "param", "value");
+        variant2.put("same", "other", "other value");
+        assertEquals(1, variant2.shareSections(this.data));
+        assertEquals("other value", this.data.remove("same", "other"));
+        assertNull(this.data.get("same", "other"));
+        assertEquals("other value", variant2.get("same", "other"));
+
+        // Data with another seed can't share its sections
+        SharedKeyMapPropertyFileData isolated = new SharedKeyMapPropertyFileData(Locale.GERMAN, true,
+                new SharedKeyMap<String, SharedKeyMap<String, Object>>(), this.namespaces);
+        isolated.put("different", "param", "value");
+        assertEquals(0, isolated.shareSections(this.data));
+    }
+
     /**
      * Test concurrently compacting a SharedKeyMapPropertyFileData and adding sections to a
      * different SharedKeyMapPropertyFileData that shares the first's seed causes a ConcurrentModificationException.
@@ -188,4 +249,40 @@ public class SharedKeyMapPropertyFileDataTest extends TestCase {
             executor.shutdownNow();
         }
     }
+
+    /**
+     * Test sharing the sections of a variant while its fallback, which shares its seed, is still adding sections.
+     */
+    public void testConcurrentShareSections() throws Exception {
+        final SharedKeyMapPropertyFileData variant = new SharedKeyMapPropertyFileData(Locale.UK, true, this.seed, this.namespaces);
+        for (int i = 0; i < 100; i++) {
+            this.data.put("shared_" + i, "key", "value");
+            variant.put("shared_" + i, "key", "value");
+        }
+        ThreadFactory tf = new ThreadFactoryBuilder().setDaemon(true).setNameFormat(getName() + "-%s").build();
+        ExecutorService executor = Executors.newSingleThreadExecutor(tf);
+
+        try {
+            Future<Integer> future = executor.submit(() -> {
+                int shared = 0;
+                for (int i = 0; i < 1000; i++) {
+                    shared += variant.shareSections(this.data);
+                }
+                return shared;
+            });
+
+            for (int i = 0; i < 1000; i++) {
+                this.data.put("section_" + i, "key", "value");
+            }
+
+            assertEquals(100, future.get().intValue());
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(variant.isShared("shared_" + i));
+            assertEquals("value", variant.get("shared_" + i, "key"));
+        }
+        assertEquals("value", this.data.get("section_999", "key"));
+    }
 }